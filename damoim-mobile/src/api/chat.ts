@@ -15,10 +15,23 @@ export interface ChatRoomResponse {
   unreadCount: number;
 }
 
+// 이모지별 인원 수 + 내가 눌렀는지 (서버 집계)
 export interface ReactionInfo {
+  emoji: string;
+  count: number;
+  reactedByMe: boolean;
+}
+
+// 채팅방 토픽으로 오는 리액션 변경분
+export interface ReactionDelta {
+  type: 'REACTION_DELTA';
+  roomId: number;
+  messageId: number;
+  seq?: number;
   emoji: string;
   userId: string;
-  userName: string;
+  action: 'added' | 'removed';
+  count: number;
 }
 
 export interface ChatMessageResponse {
@@ -113,7 +126,7 @@ export const chatAPI = {
     await apiClient.put('/chat/mark-all-read', null, { params: { userId } });
   },
 
-  toggleReaction: async (userId: string, messageId: number, source: string, emoji: string): Promise<{ action: string }> => {
+  toggleReaction: async (userId: string, messageId: number, source: string, emoji: string): Promise<{ action: 'added' | 'removed'; count: number }> => {
     const response = await apiClient.post('/chat/reactions', null, {
       params: { userId, messageId, source, emoji },
     });
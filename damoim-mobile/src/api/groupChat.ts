@@ -1,4 +1,5 @@
 import apiClient from './axios';
+import type { ReactionInfo } from './chat';
 
 export interface GroupMemberInfo {
   userId: string;
@@ -30,7 +31,7 @@ export interface GroupChatMessageResponse {
   fileSize?: number;
   unreadCount: number;
   sentAt: string;
-  reactions?: { emoji: string; userId: string; userName: string }[];
+  reactions?: ReactionInfo[];
 }
 
 export const groupChatAPI = {
@@ -23,7 +23,7 @@ import AsyncStorage from '@react-native-async-storage/async-storage';
 import { Ionicons } from '@expo/vector-icons';
 import { Colors, Fonts } from '../constants/colors';
 import { useAuth } from '../hooks/useAuth';
-import { chatAPI, ChatRoomResponse, ChatMessageResponse } from '../api/chat';
+import { chatAPI, ChatRoomResponse, ChatMessageResponse, ReactionInfo, ReactionDelta } from '../api/chat';
 import { groupChatAPI, GroupChatRoomResponse, GroupChatMessageResponse } from '../api/groupChat';
 import { friendAPI, FriendResponse } from '../api/friend';
 import { userAPI } from '../api/user';
@@ -64,20 +64,33 @@ const EMOJI_LIST = [
 
 const REACTION_EMOJIS = ['❤️', '👍', '😂', '😮', '😢', '🔥'];
 
-// 리액션을 그룹별로 묶기
-function groupReactions(reactions?: { emoji: string; userId: string; userName: string }[]) {
+// 서버가 이모지별로 집계해서 보냄 (0개인 이모지는 숨김)
+function groupReactions(reactions?: ReactionInfo[]) {
   if (!reactions || reactions.length === 0) return [];
-  const map = new Map<string, { emoji: string; count: number; users: string[] }>();
-  for (const r of reactions) {
-    const existing = map.get(r.emoji);
-    if (existing) {
-      existing.count++;
-      existing.users.push(r.userId);
-    } else {
-      map.set(r.emoji, { emoji: r.emoji, count: 1, users: [r.userId] });
-    }
+  return reactions.filter((r) => r.count > 0);
+}
+
+// 리액션 변경분 반영 (count 는 절대값이라 같은 변경분을 두 번 적용해도 결과 동일)
+function applyReactionDelta(
+  reactions: ReactionInfo[] | undefined,
+  delta: { emoji: string; userId: string; action: 'added' | 'removed'; count: number },
+  myUserId: string,
+): ReactionInfo[] {
+  const list = reactions ? [...reactions] : [];
+  const idx = list.findIndex((r) => r.emoji === delta.emoji);
+  const reactedByMe = delta.userId === myUserId
+    ? delta.action === 'added'
+    : idx >= 0 && list[idx].reactedByMe;
+  if (delta.count <= 0) {
+    return list.filter((r) => r.emoji !== delta.emoji);
   }
-  return Array.from(map.values());
+  const next: ReactionInfo = { emoji: delta.emoji, count: delta.count, reactedByMe };
+  if (idx >= 0) {
+    list[idx] = next;
+  } else {
+    list.push(next);
+  }
+  return list;
 }
 
 // 이모지만으로 구성된 메시지인지 판별 (1~3개)
@@ -457,6 +470,14 @@ export default function ChatScreen() {
             }
             return;
           }
+          if (data.type === 'REACTION_DELTA') {
+            // 리액션 변경: 해당 메시지만 갱신 (새 메시지 아님)
+            const delta: ReactionDelta = data;
+            setDmMessages((prev) =>
+              prev.map((m) => (m.id === delta.messageId ? { ...m, reactions: applyReactionDelta(m.reactions, delta, userId) } : m)),
+            );
+            return;
+          }
           if (data.type === 'READ') {
             // Mark messages as read
             setDmMessages((prev) =>
@@ -513,6 +534,14 @@ export default function ChatScreen() {
             }
             return;
           }
+          if (data.type === 'REACTION_DELTA') {
+            // 리액션 변경: 해당 메시지만 갱신 (새 메시지 아님)
+            const delta: ReactionDelta = data;
+            setGroupMessages((prev) =>
+              prev.map((m) => (m.id === delta.messageId ? { ...m, reactions: applyReactionDelta(m.reactions, delta, userId) } : m)),
+            );
+            return;
+          }
           if (data.type === 'READ') {
             // READ 이벤트 → 서버에서 정확한 카운트 가져옴
             groupChatAPI.getMessages(roomId, userId, false).then(msgs => setGroupMessages(msgs)).catch(() => {});
@@ -839,14 +868,17 @@ export default function ChatScreen() {
     if (!userId) return;
     setReactionMsgId(null);
     try {
-      await chatAPI.toggleReaction(userId, messageId, source, emoji);
-      // 리액션 후 메시지 새로고침
-      if (source === 'DM' && view.kind === 'dm-chat') {
-        const msgs = await chatAPI.getMessages(view.room.id, userId);
-        setDmMessages(msgs);
-      } else if (source === 'GROUP' && view.kind === 'group-chat') {
-        const msgs = await groupChatAPI.getMessages(view.room.id, userId);
-        setGroupMessages(msgs);
+      const result = await chatAPI.toggleReaction(userId, messageId, source, emoji);
+      // 응답으로 바로 반영 (채팅방 토픽의 REACTION_DELTA 도 같은 값으로 다시 반영됨)
+      const delta = { emoji, userId, action: result.action, count: result.count };
+      if (source === 'DM') {
+        setDmMessages((prev) =>
+          prev.map((m) => (m.id === messageId ? { ...m, reactions: applyReactionDelta(m.reactions, delta, userId) } : m)),
+        );
+      } else {
+        setGroupMessages((prev) =>
+          prev.map((m) => (m.id === messageId ? { ...m, reactions: applyReactionDelta(m.reactions, delta, userId) } : m)),
+        );
       }
     } catch (e) {
       console.error('Reaction error:', e);
@@ -1242,7 +1274,7 @@ export default function ChatScreen() {
               {grouped.map(g => (
                 <TouchableOpacity
                   key={g.emoji}
-                  style={[styles.reactionChip, g.users.includes(userId) && styles.reactionChipMine]}
+                  style={[styles.reactionChip, g.reactedByMe && styles.reactionChipMine]}
                   onPress={() => handleReaction(item.id, 'DM', g.emoji)}
                   activeOpacity={0.7}
                 >
@@ -1484,7 +1516,7 @@ export default function ChatScreen() {
               {grouped.map(g => (
                 <TouchableOpacity
                   key={g.emoji}
-                  style={[styles.reactionChip, g.users.includes(userId) && styles.reactionChipMine]}
+                  style={[styles.reactionChip, g.reactedByMe && styles.reactionChipMine]}
                   onPress={() => handleReaction(item.id, 'GROUP', g.emoji)}
                   activeOpacity={0.7}
                 >
@@ -229,6 +229,10 @@ export default function ReunionScreen() {
               }
               return;
             }
+            if (data.type === 'REACTION_DELTA') {
+              // 리액션 변경분은 이 화면에서 표시하지 않음 (새 메시지 아님)
+              return;
+            }
             if (data.type === 'READ') {
               // READ 이벤트 → 서버에서 정확한 카운트 가져옴
               if (chatRoomId && user) {
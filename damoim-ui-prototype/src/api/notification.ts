@@ -8,6 +8,7 @@ export interface NotificationResponse {
   content: string;
   referenceId?: number;
   read: boolean;
+  count?: number;  // 합쳐진 알림 수 (연속 채팅 메시지)
   createdAt: string;
 }
 
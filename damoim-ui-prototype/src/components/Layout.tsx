@@ -117,7 +117,17 @@ export default function Layout({ children }: LayoutProps) {
       webSocketFactory: () => new SockJS('http://localhost:8080/ws'),
       onConnect: () => {
         client.subscribe(`/topic/notifications/${user.userId}`, (message) => {
-          const newNotif: NotificationResponse = JSON.parse(message.body);
+          const payload = JSON.parse(message.body);
+          // 읽지 않은 기존 알림에 합쳐진 경우: 같은 id 항목을 갱신해 맨 위로 (읽지 않은 알림 수는 그대로)
+          if (payload.event === 'NOTIFICATION_COALESCED') {
+            setNotifications(prev => {
+              const existing = prev.find(n => n.id === payload.id);
+              const merged: NotificationResponse = { ...existing, ...payload, read: false };
+              return [merged, ...prev.filter(n => n.id !== payload.id)].slice(0, 50);
+            });
+            return;
+          }
+          const newNotif: NotificationResponse = payload;
           setNotifications(prev => [newNotif, ...prev.slice(0, 49)]);
           setUnreadNotifCount(prev => prev + 1);
 
@@ -108,7 +108,10 @@ export default function Chat() {
       webSocketFactory: () => new SockJS('http://localhost:8080/ws'),
       onConnect: () => {
         client.subscribe(`/topic/chat/${selectedRoom.id}`, (message) => {
-          const newMsg: ChatMessageResponse = JSON.parse(message.body);
+          const parsed = JSON.parse(message.body);
+          // 타이핑/읽음/리액션 등 이벤트 프레임(type 필드)은 새 메시지가 아님
+          if (parsed.type) return;
+          const newMsg: ChatMessageResponse = parsed;
           setMessages(prev => {
             if (prev.find(m => m.id === newMsg.id)) return prev;
             return [...prev, newMsg];
@@ -138,7 +141,10 @@ export default function Chat() {
       webSocketFactory: () => new SockJS('http://localhost:8080/ws'),
       onConnect: () => {
         client.subscribe(`/topic/group-chat/${selectedGroupRoom.id}`, (message) => {
-          const newMsg: GroupChatMessageResponse = JSON.parse(message.body);
+          const parsed = JSON.parse(message.body);
+          // 타이핑/읽음/리액션 등 이벤트 프레임(type 필드)은 새 메시지가 아님
+          if (parsed.type) return;
+          const newMsg: GroupChatMessageResponse = parsed;
           setGroupMessages(prev => {
             if (prev.find(m => m.id === newMsg.id)) return prev;
             return [...prev, newMsg];
@@ -9,6 +9,7 @@ export interface NotificationResponse {
   referenceId?: number;
   reunionId?: number;
   read: boolean;
+  count?: number;  // 합쳐진 알림 수 (연속 채팅 메시지)
   createdAt: string;
 }
 
@@ -290,10 +290,30 @@ export default function Layout({ children }: LayoutProps) {
       onConnect: () => {
         console.log('[WebSocket] Connected! Subscribing for user:', user.userId);
         client.subscribe(`/topic/notifications/${user.userId}`, async (message) => {
-          const newNotif: NotificationResponse = JSON.parse(message.body);
-          console.log('[WebSocket] Notification received:', newNotif.type, newNotif.content);
+          const payload = JSON.parse(message.body);
           const currentPath = locationRef.current;
 
+          // 읽지 않은 기존 알림에 합쳐진 경우: 같은 id 항목을 갱신해 맨 위로 (읽지 않은 알림 수는 그대로)
+          if (payload.event === 'NOTIFICATION_COALESCED') {
+            const onChatPage = (payload.type === 'CHAT' || payload.type === 'GROUP_CHAT') && currentPath === '/chat';
+            setNotifications(prev => {
+              const existing = prev.find(n => n.id === payload.id);
+              const merged: NotificationResponse = { ...existing, ...payload, read: onChatPage };
+              return [merged, ...prev.filter(n => n.id !== payload.id)].slice(0, 50);
+            });
+            if (onChatPage) {
+              // 채팅 화면에 있으면 읽음 처리 후 서버 카운터로 뱃지 맞춤
+              try {
+                await notificationAPI.markAsRead(payload.id, user!.userId);
+                setUnreadNotifCount(await notificationAPI.getUnreadCount(user!.userId));
+              } catch {}
+            }
+            return;
+          }
+
+          const newNotif: NotificationResponse = payload;
+          console.log('[WebSocket] Notification received:', newNotif.type, newNotif.content);
+
           // 해당 페이지에 있으면 자동 읽음 처리 (벨 카운트 증가 안 함)
           const isOnRelevantPage =
             ((newNotif.type === 'CHAT' || newNotif.type === 'GROUP_CHAT') && currentPath === '/chat') ||
@@ -226,6 +226,8 @@ export default function Chat() {
             }
             return;
           }
+          // 타이핑/리액션 등 그 밖의 이벤트 프레임(type 필드)은 새 메시지가 아님
+          if (parsed.type) return;
           const newMsg: ChatMessageResponse = parsed;
           // 상대방 메시지면 읽음 처리 포함하여 전체 메시지 다시 로드
           if (newMsg.senderUserId !== user?.userId) {
@@ -281,6 +283,8 @@ export default function Chat() {
             }
             return;
           }
+          // 타이핑/리액션 등 그 밖의 이벤트 프레임(type 필드)은 새 메시지가 아님
+          if (parsed.type) return;
           const newMsg: GroupChatMessageResponse = parsed;
           try {
             const msgs = await groupChatAPI.getMessages(selectedGroupRoom.id, user!.userId);
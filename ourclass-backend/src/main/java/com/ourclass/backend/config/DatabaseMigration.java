@@ -4,6 +4,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.Statement;
 
 @Component
@@ -17,6 +18,33 @@ public class DatabaseMigration implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
+        // 1:1 채팅 메시지는 더 이상 is_read 를 기록하지 않음: 아래 마이그레이션 실패와 관계없이 먼저 NOT NULL 해제
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            boolean readFlagNotNull;
+            try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM information_schema.columns " +
+                    "WHERE table_name = 'chat_messages' AND column_name = 'is_read' AND is_nullable = 'NO'")) {
+                readFlagNotNull = rs.next();
+            }
+            if (readFlagNotNull) {
+                stmt.execute("ALTER TABLE chat_messages ALTER COLUMN is_read DROP NOT NULL");
+            }
+        } catch (Exception e) {
+            System.err.println("[Migration] chat_messages.is_read NOT NULL 해제 실패: " + e.getMessage());
+        }
+
+        // 게시글 이미지 순서 컬럼: 순서가 없는 기존 행은 저장 순서(ctid)대로 0부터 배정 (null 이면 목록 로딩 실패)
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE post_images ADD COLUMN IF NOT EXISTS image_order integer");
+            stmt.execute("UPDATE post_images pi SET image_order = o.rn - 1 FROM " +
+                    "(SELECT ctid AS row_id, ROW_NUMBER() OVER (PARTITION BY post_id ORDER BY ctid) AS rn FROM post_images " +
+                    "WHERE post_id IN (SELECT post_id FROM post_images WHERE image_order IS NULL)) o WHERE pi.ctid = o.row_id");
+            stmt.execute("ALTER TABLE post_images ALTER COLUMN image_order SET NOT NULL");
+        } catch (Exception e) {
+            System.err.println("[Migration] post_images.image_order 배정 실패: " + e.getMessage());
+        }
+
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement()) {
 
@@ -34,6 +62,74 @@ public class DatabaseMigration implements CommandLineRunner {
             // reunions 테이블에 chat_room_id 컬럼 추가
             stmt.execute("ALTER TABLE reunions ADD COLUMN IF NOT EXISTS chat_room_id bigint");
 
+            // 피드는 post_timelines 에서 읽으므로 posts 의 피드 인덱스는 쓰기 비용만 발생
+            stmt.execute("DROP INDEX IF EXISTS idx_post_feed_scope");
+            stmt.execute("DROP INDEX IF EXISTS idx_post_feed_school");
+            // 타임라인 학년/반 컬럼을 posts.target_grade / target_class_number 길이에 맞춤
+            stmt.execute("ALTER TABLE post_timelines ALTER COLUMN grade TYPE varchar(255)");
+            stmt.execute("ALTER TABLE post_timelines ALTER COLUMN class_number TYPE varchar(255)");
+
+            // reunion_posts.like_count 를 실제 좋아요 수로 맞춤 (기존 데이터 백필 및 보정)
+            stmt.execute("UPDATE reunion_posts rp SET like_count = c.cnt FROM " +
+                    "(SELECT p.id, COUNT(l.id) AS cnt FROM reunion_posts p LEFT JOIN reunion_post_likes l ON l.reunion_post_id = p.id GROUP BY p.id) c " +
+                    "WHERE rp.id = c.id AND rp.like_count IS DISTINCT FROM c.cnt");
+
+            // 1:1 채팅 읽음 상태: 메시지별 is_read → 참여자별 워터마크 (상대가 보낸 읽은 메시지 중 최대 ID)
+            boolean hasLegacyReadFlag;
+            try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM information_schema.columns " +
+                    "WHERE table_name = 'chat_messages' AND column_name = 'is_read'")) {
+                hasLegacyReadFlag = rs.next();
+            }
+            if (hasLegacyReadFlag) {
+                stmt.execute("UPDATE chat_rooms r SET user1_last_read_message_id = COALESCE((SELECT MAX(m.id) FROM chat_messages m " +
+                        "WHERE m.chat_room_id = r.id AND m.sender_id = r.user2_id AND m.is_read = true), 0) " +
+                        "WHERE r.user1_last_read_message_id IS NULL");
+                stmt.execute("UPDATE chat_rooms r SET user2_last_read_message_id = COALESCE((SELECT MAX(m.id) FROM chat_messages m " +
+                        "WHERE m.chat_room_id = r.id AND m.sender_id = r.user1_id AND m.is_read = true), 0) " +
+                        "WHERE r.user2_last_read_message_id IS NULL");
+            } else {
+                stmt.execute("UPDATE chat_rooms SET user1_last_read_message_id = 0 WHERE user1_last_read_message_id IS NULL");
+                stmt.execute("UPDATE chat_rooms SET user2_last_read_message_id = 0 WHERE user2_last_read_message_id IS NULL");
+            }
+
+            // 채팅방별 이벤트 순번: 순번이 없는 방(기존 데이터)의 메시지에 ID 순으로 1부터 배정
+            stmt.execute("UPDATE chat_messages m SET seq = s.rn, event_seq = s.rn FROM " +
+                    "(SELECT id, ROW_NUMBER() OVER (PARTITION BY chat_room_id ORDER BY id) AS rn FROM chat_messages " +
+                    "WHERE chat_room_id IN (SELECT id FROM chat_rooms WHERE last_seq IS NULL)) s WHERE m.id = s.id");
+            stmt.execute("UPDATE chat_rooms r SET last_seq = COALESCE((SELECT MAX(m.seq) FROM chat_messages m " +
+                    "WHERE m.chat_room_id = r.id), 0) WHERE r.last_seq IS NULL");
+            stmt.execute("UPDATE group_chat_messages m SET seq = s.rn, event_seq = s.rn FROM " +
+                    "(SELECT id, ROW_NUMBER() OVER (PARTITION BY room_id ORDER BY id) AS rn FROM group_chat_messages " +
+                    "WHERE room_id IN (SELECT id FROM group_chat_rooms WHERE last_seq IS NULL)) s WHERE m.id = s.id");
+            stmt.execute("UPDATE group_chat_rooms r SET last_seq = COALESCE((SELECT MAX(m.seq) FROM group_chat_messages m " +
+                    "WHERE m.room_id = r.id), 0) WHERE r.last_seq IS NULL");
+
+            // 그룹 채팅 멤버별 안 읽은 메시지 수 초기화 (컬럼이 새로 생긴 경우)
+            stmt.execute("UPDATE group_chat_members m SET unread_count = (SELECT COUNT(*) FROM group_chat_messages g " +
+                    "WHERE g.room_id = m.room_id AND g.id > COALESCE(m.last_read_message_id, 0) " +
+                    "AND g.sender_id <> m.user_id AND g.completely_deleted = false) WHERE m.unread_count IS NULL");
+
+            // 나간 1:1 채팅방에 남은 리액션/집계 행 정리 (메시지가 없는 행)
+            stmt.execute("DELETE FROM chat_message_reactions r WHERE r.message_source = 'DM' " +
+                    "AND NOT EXISTS (SELECT 1 FROM chat_messages m WHERE m.id = r.message_id)");
+            stmt.execute("DELETE FROM chat_message_reaction_counts c WHERE c.message_source = 'DM' " +
+                    "AND NOT EXISTS (SELECT 1 FROM chat_messages m WHERE m.id = c.message_id)");
+
+            // 리액션 집계 테이블이 비어 있으면 기존 리액션으로 채움
+            stmt.execute("INSERT INTO chat_message_reaction_counts (message_source, message_id, emoji, reaction_count) " +
+                    "SELECT message_source, message_id, emoji, COUNT(*) FROM chat_message_reactions " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM chat_message_reaction_counts) " +
+                    "GROUP BY message_source, message_id, emoji");
+
+            // 알림 합침 개수 초기화 (컬럼이 새로 생긴 경우)
+            stmt.execute("UPDATE notifications SET coalesced_count = 1 WHERE coalesced_count IS NULL");
+
+            // 읽지 않은 알림 카운터 테이블이 비어 있으면 기존 알림으로 채움
+            stmt.execute("INSERT INTO notification_unread_counters (user_id, unread_count) " +
+                    "SELECT recipient_id, COUNT(*) FROM notifications " +
+                    "WHERE is_read = false AND NOT EXISTS (SELECT 1 FROM notification_unread_counters) " +
+                    "GROUP BY recipient_id");
+
             System.out.println("[Migration] chat_messages, group_chat_messages, reunions 컬럼 추가 완료");
         } catch (Exception e) {
             System.err.println("[Migration] 컬럼 추가 실패 (이미 존재할 수 있음): " + e.getMessage());
@@ -79,6 +79,36 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/posts/timelines/rebuild")
+    public ResponseEntity<?> rebuildPostTimelines(@RequestParam String adminId) {
+        try {
+            int count = adminService.rebuildPostTimelines(adminId);
+            return ResponseEntity.ok(Map.of("message", "피드 타임라인이 재구축되었습니다.", "count", count));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 채팅 전송 후처리 큐 지표
+    @GetMapping("/chat/fanout-stats")
+    public ResponseEntity<?> getChatFanoutStats(@RequestParam String adminId) {
+        try {
+            return ResponseEntity.ok(adminService.getChatFanoutStats(adminId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 채팅 최근 메시지 캐시 지표 (1:1 / 그룹)
+    @GetMapping("/chat/cache-stats")
+    public ResponseEntity<?> getChatMessageCacheStats(@RequestParam String adminId) {
+        try {
+            return ResponseEntity.ok(adminService.getChatMessageCacheStats(adminId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/posts/{postId}")
     public ResponseEntity<?> deletePost(@PathVariable Long postId, @RequestParam String adminId) {
         try {
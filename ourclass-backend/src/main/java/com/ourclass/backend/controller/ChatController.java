@@ -3,34 +3,42 @@ package com.ourclass.backend.controller;
 import com.ourclass.backend.dto.ChatMessageRequest;
 import com.ourclass.backend.dto.ChatMessageResponse;
 import com.ourclass.backend.dto.ChatRoomResponse;
+import com.ourclass.backend.dto.ChatSendAck;
 import com.ourclass.backend.entity.ChatRoom;
 import com.ourclass.backend.service.ChatService;
+import com.ourclass.backend.service.GroupChatService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import com.ourclass.backend.service.ImageService;
+import com.ourclass.backend.service.TypingPresenceService;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/chat")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:5173"})
 public class ChatController {
 
-    // 타이핑 상태: roomId -> { userId -> timestamp }
-    private static final ConcurrentHashMap<Long, ConcurrentHashMap<String, Long>> typingStatus = new ConcurrentHashMap<>();
-
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    private GroupChatService groupChatService;
+
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
@@ -38,10 +46,10 @@ public class ChatController {
     private ImageService imageService;
 
     @Autowired
-    private com.ourclass.backend.repository.ChatMessageReactionRepository reactionRepository;
+    private TypingPresenceService typingPresenceService;
 
     @Autowired
-    private com.ourclass.backend.repository.UserRepository userRepository;
+    private com.ourclass.backend.repository.ChatMessageReactionRepository reactionRepository;
 
     // 채팅방 생성/조회
     @PostMapping("/rooms")
@@ -57,10 +65,15 @@ public class ChatController {
     }
 
     // 내 채팅방 목록
+    // 다음 페이지는 마지막 방의 lastMessageAt/id를 cursorLastMessageAt/cursorRoomId로 전달, 커서/size 모두 없으면 전체
     @GetMapping("/rooms")
-    public ResponseEntity<?> getMyChatRooms(@RequestParam String userId) {
+    public ResponseEntity<?> getMyChatRooms(
+            @RequestParam String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorLastMessageAt,
+            @RequestParam(required = false) Long cursorRoomId,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<ChatRoomResponse> rooms = chatService.getMyChatRooms(userId);
+            List<ChatRoomResponse> rooms = chatService.getMyChatRooms(userId, cursorLastMessageAt, cursorRoomId, size);
             return ResponseEntity.ok(rooms);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -68,20 +81,24 @@ public class ChatController {
     }
 
     // 채팅방 메시지 조회 (REST) - 읽음 처리 포함
+    // before=<id>: 해당 메시지 이전 페이지, after=<id>: 이후 새 메시지만 (폴링), limit 만 주면 최신 페이지, 모두 없으면 전체 기록
     @GetMapping("/rooms/{roomId}/messages")
     public ResponseEntity<?> getMessages(
             @PathVariable Long roomId,
             @RequestParam String userId,
-            @RequestParam(required = false, defaultValue = "true") boolean markRead) {
+            @RequestParam(required = false, defaultValue = "true") boolean markRead,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
             List<ChatMessageResponse> messages;
             if (markRead) {
-                messages = chatService.getMessages(roomId, userId);
+                messages = chatService.getMessages(roomId, userId, before, after, limit);
                 // 읽음 처리 후 상대방에게 읽음 이벤트 브로드캐스트
                 messagingTemplate.convertAndSend("/topic/chat/" + roomId,
                         Map.of("type", "READ", "userId", userId));
             } else {
-                messages = chatService.getMessagesWithoutMarkRead(roomId, userId);
+                messages = chatService.getMessagesWithoutMarkRead(roomId, userId, before, after, limit);
             }
             return ResponseEntity.ok(messages);
         } catch (Exception e) {
@@ -89,6 +106,20 @@ public class ChatController {
         }
     }
 
+    // 재접속 동기화: 마지막으로 받은 seq 이후 이벤트만 (hasMore=true면 nextSinceSeq로 다시 요청)
+    @GetMapping("/rooms/{roomId}/sync")
+    public ResponseEntity<?> sync(
+            @PathVariable Long roomId,
+            @RequestParam String userId,
+            @RequestParam(required = false, defaultValue = "0") Long sinceSeq,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(chatService.sync(roomId, userId, sinceSeq, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // 메시지 전송 (REST fallback)
     @PostMapping("/rooms/{roomId}/messages")
     public ResponseEntity<?> sendMessage(
@@ -99,16 +130,14 @@ public class ChatController {
             ChatMessageResponse message = chatService.sendMessage(
                     roomId, userId, request.getContent(),
                     request.getMessageType(), request.getAttachmentUrl(),
-                    request.getFileName(), request.getFileSize());
-            // WebSocket으로도 브로드캐스트
-            messagingTemplate.convertAndSend("/topic/chat/" + roomId, message);
-            // 상대방에게 새 메시지 알림 (하단 탭 N뱃지용)
-            String otherUserId = chatService.getOtherUserId(roomId, userId);
-            if (otherUserId != null) {
-                messagingTemplate.convertAndSend("/topic/user/" + otherUserId + "/chat-notify",
-                        Map.of("type", "NEW_MESSAGE", "roomId", roomId, "source", "DM"));
-            }
+                    request.getFileName(), request.getFileSize(), request.getClientMessageId());
+            // WebSocket 브로드캐스트와 상대방 N뱃지 푸시는 커밋 이후 ChatFanoutService 에서 처리
             return ResponseEntity.ok(message);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 clientMessageId 동시 재시도: 먼저 저장된 메시지 반환
+            ChatMessageResponse existing = chatService.findSentMessage(userId, request.getClientMessageId());
+            return existing != null ? ResponseEntity.ok(existing)
+                    : ResponseEntity.badRequest().body(Map.of("error", "메시지 저장에 실패했습니다."));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -133,7 +162,7 @@ public class ChatController {
             @PathVariable Long roomId,
             @RequestParam String userId) {
         try {
-            chatService.getMessages(roomId, userId); // 내부적으로 읽음 처리
+            chatService.markAsRead(roomId, userId);
             messagingTemplate.convertAndSend("/topic/chat/" + roomId,
                     Map.of("type", "READ", "userId", userId));
             return ResponseEntity.ok().build();
@@ -185,7 +214,7 @@ public class ChatController {
         }
     }
 
-    // 리액션 추가/토글
+    // 리액션 추가/토글 (변경분은 커밋 이후 채팅방 토픽에 REACTION_DELTA 로 브로드캐스트)
     @PostMapping("/reactions")
     public ResponseEntity<?> toggleReaction(
             @RequestParam String userId,
@@ -193,24 +222,10 @@ public class ChatController {
             @RequestParam String source,  // DM or GROUP
             @RequestParam String emoji) {
         try {
-            var existing = reactionRepository.findByMessageIdAndMessageSourceAndUserIdAndEmoji(
-                    messageId, source, userId, emoji);
-            if (existing.isPresent()) {
-                reactionRepository.delete(existing.get());
-                return ResponseEntity.ok(Map.of("action", "removed"));
-            } else {
-                var user = userRepository.findByUserId(userId)
-                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
-                var reaction = com.ourclass.backend.entity.ChatMessageReaction.builder()
-                        .messageId(messageId)
-                        .messageSource(source)
-                        .userId(userId)
-                        .userName(user.getName())
-                        .emoji(emoji)
-                        .build();
-                reactionRepository.save(reaction);
-                return ResponseEntity.ok(Map.of("action", "added"));
-            }
+            Map<String, Object> result = "GROUP".equals(source)
+                    ? groupChatService.toggleReaction(messageId, userId, emoji)
+                    : chatService.toggleReaction(messageId, userId, emoji);
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -230,17 +245,43 @@ public class ChatController {
         return ResponseEntity.ok(result);
     }
 
-    // WebSocket 메시지 전송
+    // WebSocket 메시지 전송 (저장만 동기, 브로드캐스트/알림은 커밋 이후 비동기), 보낸 세션에 저장 결과 확인 응답
     @MessageMapping("/chat/{roomId}")
-    public void handleWebSocketMessage(
+    @SendToUser(destinations = "/queue/chat-ack", broadcast = false)
+    public ChatSendAck handleWebSocketMessage(
             @DestinationVariable Long roomId,
             @Payload ChatMessageRequest request,
             @Header("senderUserId") String senderUserId) {
-        ChatMessageResponse message = chatService.sendMessage(
-                roomId, senderUserId, request.getContent(),
-                request.getMessageType(), request.getAttachmentUrl(),
-                request.getFileName(), request.getFileSize());
-        messagingTemplate.convertAndSend("/topic/chat/" + roomId, message);
+        ChatMessageResponse saved;
+        try {
+            saved = chatService.sendMessage(
+                    roomId, senderUserId, request.getContent(),
+                    request.getMessageType(), request.getAttachmentUrl(),
+                    request.getFileName(), request.getFileSize(), request.getClientMessageId());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 clientMessageId 동시 재시도: 먼저 저장된 메시지로 확인 응답
+            saved = chatService.findSentMessage(senderUserId, request.getClientMessageId());
+            if (saved == null) {
+                log.warn("WebSocket 메시지 저장 실패 (room={}, sender={}): {}", roomId, senderUserId, e.getMessage());
+                return failedAck(roomId, request, "메시지 저장에 실패했습니다.");
+            }
+        } catch (RuntimeException e) {
+            return failedAck(roomId, request, e.getMessage());
+        }
+        return ChatSendAck.builder()
+                .clientMessageId(request.getClientMessageId())
+                .roomId(roomId)
+                .id(saved.getId())
+                .seq(saved.getSeq())
+                .build();
+    }
+
+    private ChatSendAck failedAck(Long roomId, ChatMessageRequest request, String error) {
+        return ChatSendAck.builder()
+                .clientMessageId(request.getClientMessageId())
+                .roomId(roomId)
+                .error(error)
+                .build();
     }
 
     // 타이핑 인디케이터 전송
@@ -250,19 +291,8 @@ public class ChatController {
             @RequestParam String userId,
             @RequestParam(defaultValue = "true") boolean typing) {
         try {
-            // 인메모리 저장
-            if (typing) {
-                typingStatus.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>())
-                        .put(userId, System.currentTimeMillis());
-            } else {
-                var roomTyping = typingStatus.get(roomId);
-                if (roomTyping != null) roomTyping.remove(userId);
-            }
-            // WebSocket 브로드캐스트
-            var user = userRepository.findByUserId(userId).orElse(null);
-            String name = user != null ? user.getName() : userId;
-            messagingTemplate.convertAndSend("/topic/chat/" + roomId,
-                    Map.of("type", "TYPING", "userId", userId, "userName", name, "typing", typing));
+            // 상태 갱신 + debounce 브로드캐스트
+            typingPresenceService.update(TypingPresenceService.SCOPE_DM, roomId, userId, typing);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -274,15 +304,9 @@ public class ChatController {
     public ResponseEntity<?> getTypingStatus(
             @PathVariable Long roomId,
             @RequestParam String userId) {
-        var roomTyping = typingStatus.get(roomId);
-        if (roomTyping == null || roomTyping.isEmpty()) {
-            return ResponseEntity.ok(Map.of("typingUsers", List.of()));
-        }
-        long now = System.currentTimeMillis();
-        // 5초 이상 지난 타이핑 상태 제거, 본인 제외
-        List<String> activeTypers = roomTyping.entrySet().stream()
-                .filter(e -> !e.getKey().equals(userId) && (now - e.getValue()) < 5000)
-                .map(Map.Entry::getKey)
+        // 만료된 상태는 TypingPresenceService 에서 정리, 본인 제외
+        List<String> activeTypers = typingPresenceService.getTypingUsers(TypingPresenceService.SCOPE_DM, roomId, userId).stream()
+                .map(typer -> typer.get("userId"))
                 .collect(java.util.stream.Collectors.toList());
         return ResponseEntity.ok(Map.of("typingUsers", activeTypers));
     }
@@ -1,39 +1,41 @@
 package com.ourclass.backend.controller;
 
 import com.ourclass.backend.dto.ChatMessageRequest;
+import com.ourclass.backend.dto.ChatSendAck;
 import com.ourclass.backend.dto.GroupChatMessageResponse;
 import com.ourclass.backend.dto.GroupChatRoomResponse;
 import com.ourclass.backend.entity.GroupChatMessage;
 import com.ourclass.backend.service.GroupChatService;
+import com.ourclass.backend.service.TypingPresenceService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/group-chat")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:5173"})
 public class GroupChatController {
 
-    // 타이핑 상태: roomId -> { userId -> timestamp }
-    private static final ConcurrentHashMap<Long, ConcurrentHashMap<String, Long>> typingStatus = new ConcurrentHashMap<>();
-
     @Autowired
     private GroupChatService groupChatService;
 
     @Autowired
-    private com.ourclass.backend.repository.UserRepository userRepository;
+    private SimpMessagingTemplate messagingTemplate;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private TypingPresenceService typingPresenceService;
 
     // 그룹 채팅방 생성
     @PostMapping("/rooms")
@@ -61,13 +63,17 @@ public class GroupChatController {
     }
 
     // 메시지 목록
+    // before=<id>: 해당 메시지 이전 페이지, after=<id>: 이후 새 메시지만 (폴링), limit 만 주면 최신 페이지, 모두 없으면 전체 기록
     @GetMapping("/rooms/{roomId}/messages")
     public ResponseEntity<?> getMessages(
             @PathVariable Long roomId,
             @RequestParam String userId,
-            @RequestParam(required = false, defaultValue = "true") boolean markRead) {
+            @RequestParam(required = false, defaultValue = "true") boolean markRead,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<GroupChatMessageResponse> messages = groupChatService.getMessages(roomId, userId, markRead);
+            List<GroupChatMessageResponse> messages = groupChatService.getMessages(roomId, userId, markRead, before, after, limit);
             if (markRead) {
                 messagingTemplate.convertAndSend("/topic/group-chat/" + roomId,
                         Map.of("type", "READ", "userId", userId));
@@ -78,6 +84,20 @@ public class GroupChatController {
         }
     }
 
+    // 재접속 동기화: 마지막으로 받은 seq 이후 이벤트만 (hasMore=true면 nextSinceSeq로 다시 요청)
+    @GetMapping("/rooms/{roomId}/sync")
+    public ResponseEntity<?> sync(
+            @PathVariable Long roomId,
+            @RequestParam String userId,
+            @RequestParam(required = false, defaultValue = "0") Long sinceSeq,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(groupChatService.sync(roomId, userId, sinceSeq, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // 메시지 전송 (REST)
     @PostMapping("/rooms/{roomId}/messages")
     public ResponseEntity<?> sendMessage(
@@ -88,20 +108,14 @@ public class GroupChatController {
             GroupChatMessageResponse message = groupChatService.sendMessage(
                     roomId, userId, request.getContent(),
                     request.getMessageType(), request.getAttachmentUrl(),
-                    request.getFileName(), request.getFileSize());
-            messagingTemplate.convertAndSend("/topic/group-chat/" + roomId, message);
-            // 다른 멤버들에게 새 메시지 알림 (하단 탭 N뱃지용)
-            String roomName = groupChatService.getRoomName(roomId);
-            boolean isReunion = roomName != null && roomName.startsWith("[찐모임]");
-            String notifyTopic = isReunion ? "/reunion-notify" : "/chat-notify";
-            List<String> memberIds = groupChatService.getMemberUserIds(roomId);
-            for (String memberId : memberIds) {
-                if (!memberId.equals(userId)) {
-                    messagingTemplate.convertAndSend("/topic/user/" + memberId + notifyTopic,
-                            Map.of("type", "NEW_MESSAGE", "roomId", roomId, "source", isReunion ? "REUNION" : "GROUP"));
-                }
-            }
+                    request.getFileName(), request.getFileSize(), request.getClientMessageId());
+            // 브로드캐스트와 다른 멤버 N뱃지 푸시는 커밋 이후 ChatFanoutService 에서 처리 (재시도로 반환된 메시지는 다시 보내지 않음)
             return ResponseEntity.ok(message);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 clientMessageId 동시 재시도: 먼저 저장된 메시지 반환
+            GroupChatMessageResponse existing = groupChatService.findSentMessage(userId, request.getClientMessageId());
+            return existing != null ? ResponseEntity.ok(existing)
+                    : ResponseEntity.badRequest().body(Map.of("error", "메시지 저장에 실패했습니다."));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -171,17 +185,43 @@ public class GroupChatController {
         }
     }
 
-    // WebSocket 메시지 전송
+    // WebSocket 메시지 전송, 보낸 세션에 저장 결과 확인 응답
     @MessageMapping("/group-chat/{roomId}")
-    public void handleWebSocketMessage(
+    @SendToUser(destinations = "/queue/chat-ack", broadcast = false)
+    public ChatSendAck handleWebSocketMessage(
             @DestinationVariable Long roomId,
             @Payload ChatMessageRequest request,
             @Header("senderUserId") String senderUserId) {
-        GroupChatMessageResponse message = groupChatService.sendMessage(
-                roomId, senderUserId, request.getContent(),
-                request.getMessageType(), request.getAttachmentUrl(),
-                request.getFileName(), request.getFileSize());
-        messagingTemplate.convertAndSend("/topic/group-chat/" + roomId, message);
+        GroupChatMessageResponse saved;
+        try {
+            saved = groupChatService.sendMessage(
+                    roomId, senderUserId, request.getContent(),
+                    request.getMessageType(), request.getAttachmentUrl(),
+                    request.getFileName(), request.getFileSize(), request.getClientMessageId());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 clientMessageId 동시 재시도: 먼저 저장된 메시지로 확인 응답
+            saved = groupChatService.findSentMessage(senderUserId, request.getClientMessageId());
+            if (saved == null) {
+                log.warn("WebSocket 메시지 저장 실패 (room={}, sender={}): {}", roomId, senderUserId, e.getMessage());
+                return failedAck(roomId, request, "메시지 저장에 실패했습니다.");
+            }
+        } catch (RuntimeException e) {
+            return failedAck(roomId, request, e.getMessage());
+        }
+        return ChatSendAck.builder()
+                .clientMessageId(request.getClientMessageId())
+                .roomId(roomId)
+                .id(saved.getId())
+                .seq(saved.getSeq())
+                .build();
+    }
+
+    private ChatSendAck failedAck(Long roomId, ChatMessageRequest request, String error) {
+        return ChatSendAck.builder()
+                .clientMessageId(request.getClientMessageId())
+                .roomId(roomId)
+                .error(error)
+                .build();
     }
 
     // 타이핑 인디케이터 전송
@@ -191,17 +231,7 @@ public class GroupChatController {
             @RequestParam String userId,
             @RequestParam(defaultValue = "true") boolean typing) {
         try {
-            if (typing) {
-                typingStatus.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>())
-                        .put(userId, System.currentTimeMillis());
-            } else {
-                var roomTyping = typingStatus.get(roomId);
-                if (roomTyping != null) roomTyping.remove(userId);
-            }
-            var user = userRepository.findByUserId(userId).orElse(null);
-            String name = user != null ? user.getName() : userId;
-            messagingTemplate.convertAndSend("/topic/group-chat/" + roomId,
-                    Map.of("type", "TYPING", "userId", userId, "userName", name, "typing", typing));
+            typingPresenceService.update(TypingPresenceService.SCOPE_GROUP, roomId, userId, typing);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -213,18 +243,8 @@ public class GroupChatController {
     public ResponseEntity<?> getTypingStatus(
             @PathVariable Long roomId,
             @RequestParam String userId) {
-        var roomTyping = typingStatus.get(roomId);
-        if (roomTyping == null || roomTyping.isEmpty()) {
-            return ResponseEntity.ok(Map.of("typingUsers", List.of()));
-        }
-        long now = System.currentTimeMillis();
-        List<Map<String, String>> activeTypers = roomTyping.entrySet().stream()
-                .filter(e -> !e.getKey().equals(userId) && (now - e.getValue()) < 5000)
-                .map(e -> {
-                    var u = userRepository.findByUserId(e.getKey()).orElse(null);
-                    return Map.of("userId", e.getKey(), "userName", u != null ? u.getName() : e.getKey());
-                })
-                .collect(java.util.stream.Collectors.toList());
+        // 메모리 상태만 조회 (이름은 타이핑 시작 시 캐시에서 확보)
+        List<Map<String, String>> activeTypers = typingPresenceService.getTypingUsers(TypingPresenceService.SCOPE_GROUP, roomId, userId);
         return ResponseEntity.ok(Map.of("typingUsers", activeTypers));
     }
 }
@@ -6,11 +6,13 @@ import com.ourclass.backend.repository.UserRepository;
 import com.ourclass.backend.service.ImageService;
 import com.ourclass.backend.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -58,7 +60,7 @@ public class PostController {
         }
     }
 
-    // 게시글 목록 조회
+    // 게시글 목록 조회 (커서 페이징: 다음 페이지는 마지막 글의 createdAt/id를 cursorCreatedAt/cursorId로 전달, 커서/size 모두 없으면 전체)
     @GetMapping
     public ResponseEntity<?> getPosts(
             @RequestParam String userId,
@@ -66,9 +68,44 @@ public class PostController {
             @RequestParam(required = false) String schoolName,
             @RequestParam(required = false) String graduationYear,
             @RequestParam(required = false) String grade,
-            @RequestParam(required = false) String classNumber) {
+            @RequestParam(required = false) String classNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<PostResponse> posts = postService.getPosts(userId, filter, schoolName, graduationYear, grade, classNumber);
+            List<PostResponse> posts = postService.getPosts(userId, filter, schoolName, graduationYear, grade, classNumber,
+                    cursorCreatedAt, cursorId, size);
+            return ResponseEntity.ok(posts);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 게시글/댓글 검색 (관련도 순, page는 0부터)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(
+            @RequestParam String userId,
+            @RequestParam String keyword,
+            @RequestParam(required = false) String schoolName,
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false) Integer size) {
+        try {
+            List<PostResponse> posts = postService.searchPosts(userId, keyword, schoolName, page, size);
+            return ResponseEntity.ok(posts);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 학교 인기글 (시간 감쇠 점수 순)
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingPosts(
+            @RequestParam String userId,
+            @RequestParam(required = false) String schoolName,
+            @RequestParam(required = false) String graduationYear,
+            @RequestParam(required = false) Integer size) {
+        try {
+            List<PostResponse> posts = postService.getTrendingPosts(userId, schoolName, graduationYear, size);
             return ResponseEntity.ok(posts);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -173,13 +210,15 @@ public class PostController {
         }
     }
 
-    // 댓글 목록 조회
+    // 댓글 목록 조회 (size 지정 시 최상위 댓글 커서 페이징: 다음 페이지는 마지막 최상위 댓글 id를 cursorId로 전달)
     @GetMapping("/{postId}/comments")
     public ResponseEntity<?> getComments(
             @PathVariable Long postId,
-            @RequestParam(required = false) String userId) {
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<CommentResponse> comments = postService.getComments(postId, userId);
+            List<CommentResponse> comments = postService.getComments(postId, userId, cursorId, size);
             return ResponseEntity.ok(comments);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
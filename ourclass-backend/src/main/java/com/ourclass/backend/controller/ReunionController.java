@@ -253,9 +253,11 @@ public class ReunionController {
 
     @GetMapping("/posts/{postId}/comments")
     public ResponseEntity<?> getComments(@PathVariable Long postId,
-                                          @RequestParam String userId) {
+                                          @RequestParam String userId,
+                                          @RequestParam(required = false) Long cursorId,
+                                          @RequestParam(required = false) Integer size) {
         try {
-            var comments = reunionService.getComments(postId, userId);
+            var comments = reunionService.getComments(postId, userId, cursorId, size);
             return ResponseEntity.ok(comments);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
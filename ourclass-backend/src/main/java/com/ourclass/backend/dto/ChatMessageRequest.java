@@ -9,4 +9,5 @@ public class ChatMessageRequest {
     private String attachmentUrl;
     private String fileName;
     private Long fileSize;
+    private String clientMessageId;  // 선택: 재시도 시 같은 값을 보내면 중복 저장하지 않음
 }
@@ -1,19 +1,25 @@
 package com.ourclass.backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class ChatMessageResponse {
     private Long id;
+    private Long seq;
     private Long chatRoomId;
     private String senderUserId;
     private String senderName;
     private String content;
+    private String clientMessageId;
     private String messageType;      // TEXT, IMAGE, FILE
     private String attachmentUrl;
     private String fileName;
@@ -22,5 +28,5 @@ public class ChatMessageResponse {
     private LocalDateTime sentAt;
     private Boolean completelyDeleted;
     private Boolean deletedBySender;
-    private List<ReactionResponse> reactions;
+    private List<ReactionSummaryResponse> reactions;  // 이모지별 인원 수 + 본인 여부
 }
@@ -0,0 +1,19 @@
+package com.ourclass.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// WebSocket 전송 확인 (보낸 세션의 /user/queue/chat-ack 로 전달): 클라이언트가 임시 메시지를 저장된 id/seq 로 교체
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSendAck {
+    private String clientMessageId;
+    private Long roomId;
+    private Long id;        // 저장된 메시지 id (실패 시 null)
+    private Long seq;       // 방 이벤트 순번
+    private String error;   // 실패 사유 (성공 시 null)
+}
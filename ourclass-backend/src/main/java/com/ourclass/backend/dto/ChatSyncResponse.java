@@ -0,0 +1,32 @@
+package com.ourclass.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 채팅방 이벤트 동기화 응답: sinceSeq 이후 바뀐 메시지를 메시지당 최신 상태 하나로 압축해 이벤트 순으로 전달
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSyncResponse {
+    private Long roomId;
+    private Long lastSeq;        // 방의 현재 마지막 순번
+    private Long nextSinceSeq;   // 다음 요청에 보낼 sinceSeq (hasMore=false면 이 값까지 따라잡음)
+    private boolean hasMore;
+    private List<Event> events;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Event {
+        private Long seq;
+        private String type;     // UPSERT: 새 메시지/변경(리액션 등), DELETE: 조회자 화면에서 사라짐
+        private Long messageId;
+        private Object message;  // UPSERT일 때 메시지 응답
+    }
+}
@@ -8,20 +8,22 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class GroupChatMessageResponse {
     private Long id;
+    private Long seq;
     private Long roomId;
     private String senderUserId;
     private String senderName;
     private String content;
+    private String clientMessageId;
     private String messageType;
     private String attachmentUrl;
     private String fileName;
     private Long fileSize;
     private int unreadCount;
     private String sentAt;
-    private List<ReactionResponse> reactions;
+    private List<ReactionSummaryResponse> reactions;  // 이모지별 인원 수 + 본인 여부
 }
@@ -0,0 +1,21 @@
+package com.ourclass.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 일괄 저장 전 알림 내용 (수신자는 userId로 지정)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDraft {
+    private String recipientUserId;
+    private String senderUserId;
+    private String senderName;
+    private String type;
+    private String content;
+    private Long referenceId;
+    private Long reunionId;
+}
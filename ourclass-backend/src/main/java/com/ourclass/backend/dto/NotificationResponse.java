@@ -20,5 +20,6 @@ public class NotificationResponse {
     private Long referenceId;
     private Long reunionId;
     private boolean read;
+    private int count;  // 합쳐진 알림 수 (연속 채팅 메시지), 기본 1
     private LocalDateTime createdAt;
 }
@@ -1,16 +0,0 @@
-package com.ourclass.backend.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ReactionResponse {
-    private String emoji;
-    private String userId;
-    private String userName;
-}
@@ -0,0 +1,17 @@
+package com.ourclass.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 메시지 리액션 요약: 이모지별 인원 수 + 조회자 본인 리액션 여부 (누른 사람 목록은 GET /api/chat/reactions)
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReactionSummaryResponse {
+    private String emoji;
+    private int count;
+    private boolean reactedByMe;
+}
@@ -10,7 +10,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_message_room_id", columnList = "chat_room_id, id"),
+        @Index(name = "idx_chat_message_room_event_seq", columnList = "chat_room_id, event_seq")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_message_sender_client_id", columnNames = {"sender_id", "client_message_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -46,14 +51,22 @@ public class ChatMessage {
     @Column(name = "file_size")
     private Long fileSize;
 
-    @Column(name = "is_read", nullable = false)
-    @Builder.Default
-    private Boolean isRead = false;
+    // 클라이언트가 생성한 전송 ID (재시도 중복 방지, 발신자별 고유)
+    @Column(name = "client_message_id", length = 64)
+    private String clientMessageId;
 
     @CreationTimestamp
     @Column(name = "sent_at", nullable = false, updatable = false)
     private LocalDateTime sentAt;
 
+    // 방 안에서의 전송 순번 (ChatSequenceService 가 배정)
+    @Column(name = "seq", updatable = false)
+    private Long seq;
+
+    // 이 메시지에 마지막으로 생긴 이벤트(전송/삭제/리액션)의 순번, sync 조회 기준
+    @Column(name = "event_seq", updatable = false)
+    private Long eventSeq;
+
     // 완전 삭제 여부 (상대방이 아직 읽지 않았을 때 삭제 → 양쪽 모두에서 삭제)
     @Column(name = "completely_deleted")
     @Builder.Default
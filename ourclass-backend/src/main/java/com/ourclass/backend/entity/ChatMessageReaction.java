@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "chat_message_reactions",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"message_id", "message_source", "user_id", "emoji"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"message_id", "message_source", "user_id", "emoji"}),
+       indexes = @Index(name = "idx_reaction_source_user_message", columnList = "message_source, user_id, message_id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,35 @@
+package com.ourclass.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 메시지별 이모지 집계 (chat_message_reactions 와 같은 트랜잭션에서 증감 UPSERT로만 반영)
+@Entity
+@Table(name = "chat_message_reaction_counts",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"message_source", "message_id", "emoji"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageReactionCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // DM 또는 GROUP 구분
+    @Column(name = "message_source", nullable = false, length = 10)
+    private String messageSource;
+
+    @Column(name = "message_id", nullable = false)
+    private Long messageId;
+
+    @Column(nullable = false, length = 10)
+    private String emoji;
+
+    @Column(name = "reaction_count", nullable = false)
+    private Integer reactionCount;
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "chat_rooms",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"user1_id", "user2_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user1_id", "user2_id"}),
+       indexes = {
+           @Index(name = "idx_chat_room_user1_last", columnList = "user1_id, last_message_at"),
+           @Index(name = "idx_chat_room_user2_last", columnList = "user2_id, last_message_at")
+       })
 @Data
 @Builder
 @NoArgsConstructor
@@ -36,6 +40,20 @@ public class ChatRoom {
     @Column(name = "last_message_at")
     private LocalDateTime lastMessageAt;
 
+    // 참여자별 마지막으로 읽은 메시지 ID (이 값 이하의 상대 메시지는 읽음), 증가 UPDATE로만 반영
+    @Column(name = "user1_last_read_message_id", updatable = false)
+    @Builder.Default
+    private Long user1LastReadMessageId = 0L;
+
+    @Column(name = "user2_last_read_message_id", updatable = false)
+    @Builder.Default
+    private Long user2LastReadMessageId = 0L;
+
+    // 방의 마지막 이벤트 순번 (메시지 전송/삭제/리액션마다 1씩 증가), 증가 UPDATE로만 반영
+    @Column(name = "last_seq", updatable = false)
+    @Builder.Default
+    private Long lastSeq = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
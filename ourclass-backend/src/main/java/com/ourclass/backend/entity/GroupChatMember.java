@@ -31,10 +31,16 @@ public class GroupChatMember {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "last_read_message_id")
+    // 마지막으로 읽은 메시지 ID, 증가 UPDATE로만 반영
+    @Column(name = "last_read_message_id", updatable = false)
     @Builder.Default
     private Long lastReadMessageId = 0L;
 
+    // 안 읽은 메시지 수 (전송 시 증가, 읽음 처리 시 재계산), UPDATE로만 반영
+    @Column(name = "unread_count", updatable = false)
+    @Builder.Default
+    private Integer unreadCount = 0;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime joinedAt;
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,7 +13,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "group_chat_messages")
+@Table(name = "group_chat_messages", indexes = {
+        @Index(name = "idx_group_chat_message_room_id", columnList = "room_id, id"),
+        @Index(name = "idx_group_chat_message_room_event_seq", columnList = "room_id, event_seq")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_group_chat_message_sender_client_id", columnNames = {"sender_id", "client_message_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -48,12 +54,26 @@ public class GroupChatMessage {
     @Column(name = "file_size")
     private Long fileSize;
 
+    // 클라이언트가 생성한 전송 ID (재시도 중복 방지, 발신자별 고유)
+    @Column(name = "client_message_id", length = 64)
+    private String clientMessageId;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime sentAt;
 
+    // 방 안에서의 전송 순번 (ChatSequenceService 가 배정)
+    @Column(name = "seq", updatable = false)
+    private Long seq;
+
+    // 이 메시지에 마지막으로 생긴 이벤트(전송/삭제/리액션)의 순번, sync 조회 기준
+    @Column(name = "event_seq", updatable = false)
+    private Long eventSeq;
+
     // 메시지를 삭제한 사용자 ID 목록 (카카오톡 스타일: 내 채팅방에서만 삭제)
+    // 페이지 단위 조회 시 메시지마다 따로 읽지 않도록 묶어서 로딩
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     @CollectionTable(name = "group_chat_message_deleted_by", joinColumns = @JoinColumn(name = "message_id"))
     @Column(name = "user_id")
     @Builder.Default
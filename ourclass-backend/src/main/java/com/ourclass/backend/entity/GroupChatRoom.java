@@ -35,6 +35,11 @@ public class GroupChatRoom {
 
     private LocalDateTime lastMessageAt;
 
+    // 방의 마지막 이벤트 순번 (메시지 전송/삭제/리액션마다 1씩 증가), 증가 UPDATE로만 반영
+    @Column(name = "last_seq", updatable = false)
+    @Builder.Default
+    private Long lastSeq = 0L;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notification_recipient_type_ref", columnList = "recipient_id, type, reference_id"),
+        @Index(name = "idx_notification_recipient_read", columnList = "recipient_id, is_read")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -46,6 +49,11 @@ public class Notification {
     @Column(name = "is_read", nullable = false)
     private boolean read = false;
 
+    // 시간 창 안에서 합쳐진 알림 수 (NotificationService 가 UPDATE 로 증가)
+    @Builder.Default
+    @Column(name = "coalesced_count", updatable = false)
+    private Integer coalescedCount = 1;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
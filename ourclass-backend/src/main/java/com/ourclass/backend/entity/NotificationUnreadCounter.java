@@ -0,0 +1,26 @@
+package com.ourclass.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 사용자별 읽지 않은 알림 수 (알림 저장/읽음/삭제와 같은 트랜잭션에서 증감 UPSERT로만 반영, 주기적으로 재계산)
+@Entity
+@Table(name = "notification_unread_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationUnreadCounter {
+
+    // users.id (사용자 삭제를 막지 않도록 FK 없이 보관)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    @Builder.Default
+    private Integer unreadCount = 0;
+}
@@ -38,21 +38,25 @@ public class Post {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    @Column(name = "like_count", nullable = false)
+    // 좋아요 수는 LikeService가 증감 UPDATE로만 반영
+    @Column(name = "like_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer likeCount = 0;
 
-    @Column(name = "comment_count", nullable = false)
+    // 댓글 수는 증감 UPDATE로만 반영
+    @Column(name = "comment_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer commentCount = 0;
 
-    @Column(name = "view_count", nullable = false)
+    // 조회수는 PostViewCountService가 증가분 UPDATE로만 반영 (엔티티 저장 시 덮어쓰지 않음)
+    @Column(name = "view_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer viewCount = 0;
 
     @ElementCollection
     @CollectionTable(name = "post_images", joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "image_url")
+    @OrderColumn(name = "image_order")
     @Builder.Default
     private List<String> imageUrls = new ArrayList<>();
 
@@ -0,0 +1,33 @@
+package com.ourclass.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 게시글 검색용 역색인: 게시글 본문 + 댓글을 2글자(bigram) 단위로 쪼갠 검색어와 가중 빈도
+@Entity
+@Table(name = "post_search_terms", indexes = {
+        @Index(name = "idx_search_term_post", columnList = "term, post_id")
+}, uniqueConstraints = @UniqueConstraint(columnNames = {"post_id", "term"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(nullable = false, length = 20)
+    private String term;
+
+    // 본문 출현은 댓글보다 높은 가중치로 누적
+    @Column(nullable = false)
+    private Integer frequency;
+}
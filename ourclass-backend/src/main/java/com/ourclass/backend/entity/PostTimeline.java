@@ -0,0 +1,46 @@
+package com.ourclass.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 게시글 작성 시점에 탭별로 미리 펼쳐 둔 피드 타임라인 (학교 / 탭 / 학년 / 반)
+@Entity
+@Table(name = "post_timelines", indexes = {
+        @Index(name = "idx_timeline_scope", columnList = "school_name, tab, grade, class_number, created_at, post_id")
+}, uniqueConstraints = @UniqueConstraint(columnNames = {"post_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostTimeline {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "school_name", nullable = false)
+    private String schoolName;
+
+    // all(우리 학교), myGrade(우리 학년), myClass(우리 반)
+    @Column(nullable = false, length = 10)
+    private String tab;
+
+    // posts.target_grade / target_class_number 와 같은 길이
+    @Column
+    private String grade;
+
+    @Column(name = "class_number")
+    private String classNumber;
+
+    // 게시글 작성 시각 (커서 정렬 기준)
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,35 @@
+package com.ourclass.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 인기글 점수 스냅샷 (재기동 시 메모리 랭킹 복원용)
+@Entity
+@Table(name = "post_trending_snapshots", indexes = {
+        @Index(name = "idx_trending_school", columnList = "school_name")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostTrendingSnapshot {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "school_name", nullable = false)
+    private String schoolName;
+
+    // snapshotAt 시점 기준으로 감쇠가 반영된 점수
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
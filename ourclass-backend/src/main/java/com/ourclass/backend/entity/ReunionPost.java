@@ -44,6 +44,11 @@ public class ReunionPost {
     @Column(nullable = false)
     private int viewCount = 0;
 
+    // 좋아요 수는 LikeService가 증감 UPDATE로만 반영
+    @Builder.Default
+    @Column(name = "like_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int likeCount = 0;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -2,7 +2,7 @@ package com.ourclass.backend.repository;
 
 import com.ourclass.backend.entity.ChatMessage;
 import com.ourclass.backend.entity.ChatRoom;
-import com.ourclass.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,22 +10,37 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
     List<ChatMessage> findByChatRoomOrderBySentAtAsc(ChatRoom chatRoom);
 
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoom = :chatRoom AND m.sender != :user AND m.isRead = false")
-    long countUnreadMessages(@Param("chatRoom") ChatRoom chatRoom, @Param("user") User user);
+    // 이전 메시지 페이지: beforeId 미만 최신순 (sender JOIN FETCH, 완전 삭제 제외)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender WHERE m.chatRoom.id = :roomId AND m.id < :beforeId " +
+           "AND (m.completelyDeleted IS NULL OR m.completelyDeleted = false) ORDER BY m.id DESC")
+    List<ChatMessage> findPageBefore(@Param("roomId") Long roomId, @Param("beforeId") Long beforeId, Pageable pageable);
 
-    @Modifying
-    @Query("UPDATE ChatMessage m SET m.isRead = true WHERE m.chatRoom = :chatRoom AND m.sender != :user AND m.isRead = false")
-    void markAsRead(@Param("chatRoom") ChatRoom chatRoom, @Param("user") User user);
+    // 새 메시지 폴링: afterId 초과 오래된 순
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender WHERE m.chatRoom.id = :roomId AND m.id > :afterId " +
+           "AND (m.completelyDeleted IS NULL OR m.completelyDeleted = false) ORDER BY m.id ASC")
+    List<ChatMessage> findPageAfter(@Param("roomId") Long roomId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // sync: sinceSeq 이후 이벤트가 생긴 메시지 (메시지당 최신 상태 하나, 이벤트 순)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender WHERE m.chatRoom.id = :roomId AND m.eventSeq > :sinceSeq ORDER BY m.eventSeq ASC")
+    List<ChatMessage> findChangedSince(@Param("roomId") Long roomId, @Param("sinceSeq") Long sinceSeq, Pageable pageable);
 
     @Modifying
-    @Query("UPDATE ChatMessage m SET m.isRead = true WHERE m.chatRoom IN :chatRooms AND m.sender != :user AND m.isRead = false")
-    void markAllAsRead(@Param("chatRooms") List<ChatRoom> chatRooms, @Param("user") User user);
+    @Query("UPDATE ChatMessage m SET m.eventSeq = :seq WHERE m.id = :messageId")
+    int updateEventSeq(@Param("messageId") Long messageId, @Param("seq") Long seq);
+
+    // 재시도 중복 확인: 발신자가 같은 clientMessageId 로 이미 보낸 메시지
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.sender s WHERE s.userId = :senderUserId AND m.clientMessageId = :clientMessageId")
+    Optional<ChatMessage> findByClientMessageId(@Param("senderUserId") String senderUserId, @Param("clientMessageId") String clientMessageId);
+
+    @Query("SELECT MAX(m.id) FROM ChatMessage m WHERE m.chatRoom.id = :roomId")
+    Long findLastMessageId(@Param("roomId") Long roomId);
 
     @Modifying
     @Query("DELETE FROM ChatMessage m WHERE m.chatRoom = :chatRoom")
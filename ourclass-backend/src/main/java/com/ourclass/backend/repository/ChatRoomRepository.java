@@ -3,10 +3,12 @@ package com.ourclass.backend.repository;
 import com.ourclass.backend.entity.ChatRoom;
 import com.ourclass.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +20,46 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
 
     @Query("SELECT cr FROM ChatRoom cr WHERE cr.user1 = :user OR cr.user2 = :user ORDER BY cr.lastMessageAt DESC NULLS LAST")
     List<ChatRoom> findByUser(@Param("user") User user);
+
+    // 채팅 목록 (한 번의 쿼리): 방 ID, 마지막 메시지, 마지막 메시지 시각, 상대 userId/이름/프로필, 안 읽은 수
+    // 정렬 키는 COALESCE(last_message_at, 1970-01-01), 커서는 이전 페이지 마지막 방의 (정렬 키, id)
+    @Query(value = "SELECT r.id, r.last_message, r.last_message_at, o.user_id, o.name, o.profile_image_url, " +
+           "(SELECT COUNT(*) FROM chat_messages m WHERE m.chat_room_id = r.id " +
+           "  AND m.id > CASE WHEN r.user1_id = me.id THEN COALESCE(r.user1_last_read_message_id, 0) " +
+           "                 ELSE COALESCE(r.user2_last_read_message_id, 0) END " +
+           "  AND m.sender_id <> me.id AND (m.completely_deleted IS NULL OR m.completely_deleted = false)) AS unread_count " +
+           "FROM users me " +
+           "JOIN chat_rooms r ON r.user1_id = me.id OR r.user2_id = me.id " +
+           "JOIN users o ON o.id = CASE WHEN r.user1_id = me.id THEN r.user2_id ELSE r.user1_id END " +
+           "WHERE me.user_id = :userId " +
+           "AND (COALESCE(r.last_message_at, TIMESTAMP '1970-01-01') < :cursorAt " +
+           "  OR (COALESCE(r.last_message_at, TIMESTAMP '1970-01-01') = :cursorAt AND r.id < :cursorId)) " +
+           "ORDER BY COALESCE(r.last_message_at, TIMESTAMP '1970-01-01') DESC, r.id DESC " +
+           "LIMIT :limit", nativeQuery = true)
+    List<Object[]> findInbox(@Param("userId") String userId, @Param("cursorAt") LocalDateTime cursorAt,
+                             @Param("cursorId") Long cursorId, @Param("limit") int limit);
+
+    // 읽음 워터마크 전진 (뒤로 가지 않음)
+    @Modifying
+    @Query("UPDATE ChatRoom r SET r.user1LastReadMessageId = :messageId WHERE r.id = :roomId " +
+           "AND (r.user1LastReadMessageId IS NULL OR r.user1LastReadMessageId < :messageId)")
+    int advanceUser1LastRead(@Param("roomId") Long roomId, @Param("messageId") Long messageId);
+
+    @Modifying
+    @Query("UPDATE ChatRoom r SET r.user2LastReadMessageId = :messageId WHERE r.id = :roomId " +
+           "AND (r.user2LastReadMessageId IS NULL OR r.user2LastReadMessageId < :messageId)")
+    int advanceUser2LastRead(@Param("roomId") Long roomId, @Param("messageId") Long messageId);
+
+    // 사용자의 모든 채팅방 워터마크를 각 방의 마지막 메시지로 (방 단위 UPDATE)
+    @Modifying
+    @Query(value = "UPDATE chat_rooms r SET user1_last_read_message_id = " +
+           "(SELECT MAX(m.id) FROM chat_messages m WHERE m.chat_room_id = r.id) " +
+           "WHERE r.user1_id = :userId AND EXISTS (SELECT 1 FROM chat_messages m WHERE m.chat_room_id = r.id)", nativeQuery = true)
+    int markAllReadAsUser1(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE chat_rooms r SET user2_last_read_message_id = " +
+           "(SELECT MAX(m.id) FROM chat_messages m WHERE m.chat_room_id = r.id) " +
+           "WHERE r.user2_id = :userId AND EXISTS (SELECT 1 FROM chat_messages m WHERE m.chat_room_id = r.id)", nativeQuery = true)
+    int markAllReadAsUser2(@Param("userId") Long userId);
 }
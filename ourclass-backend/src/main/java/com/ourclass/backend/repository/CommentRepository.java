@@ -2,7 +2,11 @@ package com.ourclass.backend.repository;
 
 import com.ourclass.backend.entity.Comment;
 import com.ourclass.backend.entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +15,38 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostOrderByCreatedAtAsc(Post post);
     long countByPost(Post post);
-    void deleteAllByPost(Post post);
+
+    // 댓글 + 모든 하위 대댓글(재귀 CTE) 및 멘션을 한 문장으로 삭제, 삭제된 댓글 수 반환
+    @Modifying
+    @Query(value = "WITH RECURSIVE subtree AS (" +
+           "SELECT id FROM comments WHERE id = :commentId " +
+           "UNION ALL SELECT c.id FROM comments c JOIN subtree s ON c.parent_comment_id = s.id), " +
+           "deleted_mentions AS (DELETE FROM comment_mentions WHERE comment_id IN (SELECT id FROM subtree)) " +
+           "DELETE FROM comments WHERE id IN (SELECT id FROM subtree)", nativeQuery = true)
+    int deleteSubtree(@Param("commentId") Long commentId);
+
+    // 게시글의 모든 댓글 및 멘션 일괄 삭제
+    @Modifying
+    @Query(value = "WITH deleted_mentions AS (" +
+           "DELETE FROM comment_mentions WHERE comment_id IN (SELECT id FROM comments WHERE post_id = :postId)) " +
+           "DELETE FROM comments WHERE post_id = :postId", nativeQuery = true)
+    int deleteAllByPostId(@Param("postId") Long postId);
+
+    // 댓글 트리: 최상위 댓글 (cursorId 이후, author JOIN FETCH)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.post.id = :postId AND c.parentComment IS NULL " +
+           "AND c.id > :cursorId ORDER BY c.id ASC")
+    List<Comment> findTopLevelWithAuthor(@Param("postId") Long postId, @Param("cursorId") Long cursorId, Pageable pageable);
+
+    // 댓글 트리: 게시글의 모든 대댓글 (author JOIN FETCH)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.post.id = :postId AND c.parentComment IS NOT NULL " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findRepliesWithAuthor(@Param("postId") Long postId);
+
+    // 댓글 트리: 멘션 일괄 조회 (commentId, userId, name)
+    @Query("SELECT c.id, u.userId, u.name FROM Comment c JOIN c.mentionedUsers u WHERE c.id IN :commentIds")
+    List<Object[]> findMentionsByCommentIds(@Param("commentIds") List<Long> commentIds);
+
+    // 검색 색인용 댓글 본문
+    @Query("SELECT c.content FROM Comment c WHERE c.post.id = :postId")
+    List<String> findContentsByPostId(@Param("postId") Long postId);
 }
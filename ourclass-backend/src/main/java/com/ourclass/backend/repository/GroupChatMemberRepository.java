@@ -4,6 +4,7 @@ import com.ourclass.backend.entity.GroupChatMember;
 import com.ourclass.backend.entity.GroupChatRoom;
 import com.ourclass.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,4 +18,49 @@ public interface GroupChatMemberRepository extends JpaRepository<GroupChatMember
 
     @Query("SELECT COUNT(m) FROM GroupChatMember m WHERE m.room = :room AND (m.lastReadMessageId IS NULL OR m.lastReadMessageId < :messageId)")
     long countUnreadMembers(@Param("room") GroupChatRoom room, @Param("messageId") Long messageId);
+
+    // 메시지별 안 읽은 멤버 수 계산용 읽음 워터마크 (멤버 엔티티는 읽지 않음)
+    @Query("SELECT m.lastReadMessageId FROM GroupChatMember m WHERE m.room.id = :roomId")
+    List<Long> findLastReadMessageIds(@Param("roomId") Long roomId);
+
+    // 알림/뱃지 수신자용 멤버 userId (멤버/사용자 엔티티는 읽지 않음)
+    @Query("SELECT m.user.userId FROM GroupChatMember m WHERE m.room.id = :roomId")
+    List<String> findUserIdsByRoomId(@Param("roomId") Long roomId);
+
+    // 채팅방 목록용: 여러 방의 멤버를 사용자와 함께 한 번에
+    @Query("SELECT m FROM GroupChatMember m JOIN FETCH m.user WHERE m.room IN :rooms")
+    List<GroupChatMember> findWithUserByRoomIn(@Param("rooms") List<GroupChatRoom> rooms);
+
+    // 읽음 처리 전 본인 멤버 행 잠금 (재계산이 대기 중 커밋된 증가분을 덮어쓰지 않도록)
+    @Query(value = "SELECT id FROM group_chat_members WHERE id = :memberId FOR UPDATE", nativeQuery = true)
+    List<Long> lockMember(@Param("memberId") Long memberId);
+
+    // 새 메시지: 보낸 사람을 제외한 멤버의 안 읽은 수 +1 (방 행 잠금(nextGroupSeq) 이후에만 호출)
+    @Modifying
+    @Query(value = "UPDATE group_chat_members SET unread_count = COALESCE(unread_count, 0) + 1 " +
+                   "WHERE room_id = :roomId AND user_id <> :senderId", nativeQuery = true)
+    int incrementUnread(@Param("roomId") Long roomId, @Param("senderId") Long senderId);
+
+    // 완전 삭제된 메시지: 아직 읽지 않았던 멤버의 안 읽은 수 -1
+    @Modifying
+    @Query(value = "UPDATE group_chat_members SET unread_count = GREATEST(COALESCE(unread_count, 0) - 1, 0) " +
+                   "WHERE room_id = :roomId AND user_id <> :senderId " +
+                   "AND (last_read_message_id IS NULL OR last_read_message_id < :messageId)", nativeQuery = true)
+    int decrementUnread(@Param("roomId") Long roomId, @Param("senderId") Long senderId, @Param("messageId") Long messageId);
+
+    // 읽음 처리: 워터마크를 앞으로만 옮기고, 그 사이 도착한 메시지만 안 읽은 수로 남김 ((room_id, id) 인덱스 범위 조회)
+    // 호출 전에 lockMember 또는 방 행 잠금(nextGroupSeq) 필요 (문장 시작 시점 스냅샷으로 다시 세기 때문)
+    @Modifying
+    @Query(value = "UPDATE group_chat_members m SET last_read_message_id = :messageId, " +
+                   "unread_count = (SELECT COUNT(*) FROM group_chat_messages g WHERE g.room_id = m.room_id " +
+                   "AND g.id > :messageId AND g.sender_id <> m.user_id AND g.completely_deleted = false) " +
+                   "WHERE m.id = :memberId AND (m.last_read_message_id IS NULL OR m.last_read_message_id < :messageId)", nativeQuery = true)
+    int advanceLastRead(@Param("memberId") Long memberId, @Param("messageId") Long messageId);
+
+    // 초대 등으로 워터마크 이후 기존 메시지가 있는 경우 한 번 재계산
+    @Modifying
+    @Query(value = "UPDATE group_chat_members m SET unread_count = (SELECT COUNT(*) FROM group_chat_messages g " +
+                   "WHERE g.room_id = m.room_id AND g.id > COALESCE(m.last_read_message_id, 0) " +
+                   "AND g.sender_id <> m.user_id AND g.completely_deleted = false) WHERE m.id = :memberId", nativeQuery = true)
+    int recountUnread(@Param("memberId") Long memberId);
 }
@@ -2,10 +2,40 @@ package com.ourclass.backend.repository;
 
 import com.ourclass.backend.entity.GroupChatMessage;
 import com.ourclass.backend.entity.GroupChatRoom;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface GroupChatMessageRepository extends JpaRepository<GroupChatMessage, Long> {
     List<GroupChatMessage> findByRoomOrderBySentAtAsc(GroupChatRoom room);
+
+    // 이전 메시지 페이지: beforeId 미만 최신순 (sender JOIN FETCH, 완전 삭제 제외)
+    @Query("SELECT m FROM GroupChatMessage m JOIN FETCH m.sender WHERE m.room.id = :roomId AND m.id < :beforeId " +
+           "AND m.completelyDeleted = false ORDER BY m.id DESC")
+    List<GroupChatMessage> findPageBefore(@Param("roomId") Long roomId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // 새 메시지 폴링: afterId 초과 오래된 순
+    @Query("SELECT m FROM GroupChatMessage m JOIN FETCH m.sender WHERE m.room.id = :roomId AND m.id > :afterId " +
+           "AND m.completelyDeleted = false ORDER BY m.id ASC")
+    List<GroupChatMessage> findPageAfter(@Param("roomId") Long roomId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // sync: sinceSeq 이후 이벤트가 생긴 메시지 (메시지당 최신 상태 하나, 이벤트 순)
+    @Query("SELECT m FROM GroupChatMessage m JOIN FETCH m.sender WHERE m.room.id = :roomId AND m.eventSeq > :sinceSeq ORDER BY m.eventSeq ASC")
+    List<GroupChatMessage> findChangedSince(@Param("roomId") Long roomId, @Param("sinceSeq") Long sinceSeq, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE GroupChatMessage m SET m.eventSeq = :seq WHERE m.id = :messageId")
+    int updateEventSeq(@Param("messageId") Long messageId, @Param("seq") Long seq);
+
+    // 재시도 중복 확인: 발신자가 같은 clientMessageId 로 이미 보낸 메시지
+    @Query("SELECT m FROM GroupChatMessage m JOIN FETCH m.sender s WHERE s.userId = :senderUserId AND m.clientMessageId = :clientMessageId")
+    Optional<GroupChatMessage> findByClientMessageId(@Param("senderUserId") String senderUserId, @Param("clientMessageId") String clientMessageId);
+
+    @Query("SELECT MAX(m.id) FROM GroupChatMessage m WHERE m.room.id = :roomId")
+    Long findLastMessageId(@Param("roomId") Long roomId);
 }
@@ -21,6 +21,16 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("UPDATE Notification n SET n.read = true WHERE n.recipient = :recipient AND n.read = false")
     void markAllAsRead(@Param("recipient") User recipient);
 
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.read = false")
+    int markAsReadIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.recipient = :recipient AND n.type = :type " +
+           "AND n.referenceId = :referenceId AND n.read = false")
+    int markAsReadByReference(@Param("recipient") User recipient, @Param("type") String type,
+                              @Param("referenceId") Long referenceId);
+
     void deleteAllByRecipient(User recipient);
 
     List<Notification> findByRecipientAndTypeAndReferenceIdAndReadFalse(User recipient, String type, Long referenceId);
@@ -4,8 +4,12 @@ import com.ourclass.backend.entity.Post;
 import com.ourclass.backend.entity.PostLike;
 import com.ourclass.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,5 +17,23 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     boolean existsByPostAndUser(Post post, User user);
     Optional<PostLike> findByPostAndUser(Post post, User user);
     long countByPost(Post post);
-    void deleteAllByPost(Post post);
+
+    // 게시글의 좋아요 일괄 삭제
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.post.id = :postId")
+    int deleteAllByPostId(@Param("postId") Long postId);
+
+    // 피드 페이지 내에서 사용자가 좋아요한 글 ID 일괄 조회
+    @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.user = :user AND pl.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("user") User user, @Param("postIds") List<Long> postIds);
+
+    // 좋아요 추가 (이미 있으면 0 반환)
+    @Modifying
+    @Query(value = "INSERT INTO post_likes (post_id, user_id, created_at) VALUES (:postId, :userId, now()) " +
+           "ON CONFLICT (post_id, user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_likes WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
 }
@@ -3,6 +3,7 @@ package com.ourclass.backend.repository;
 import com.ourclass.backend.entity.Post;
 import com.ourclass.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +17,10 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.schoolName = :schoolName ORDER BY p.createdAt DESC")
     List<Post> findBySchoolName(@Param("schoolName") String schoolName);
 
+    // 피드 타임라인에서 찾은 게시글 ID로 조회 (author JOIN FETCH)
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.id IN :ids")
+    List<Post> findAllWithAuthorByIdIn(@Param("ids") List<Long> ids);
+
     // 우리 학년: 같은 학교 + 같은 졸업년도, 작성자의 학년까지 매칭
     @Query("SELECT DISTINCT p FROM Post p JOIN p.author.schools s " +
            "WHERE p.schoolName = :schoolName AND p.graduationYear = :graduationYear AND s.schoolName = :schoolName AND s.grade = :grade " +
@@ -53,6 +58,20 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT COUNT(p) FROM Post p WHERE p.schoolName = :schoolName AND p.createdAt >= :since")
     long countRecentBySchoolName(@Param("schoolName") String schoolName, @Param("since") LocalDateTime since);
 
+    // 게시글 이미지 일괄 조회 (postId, imageUrl), 글마다 올린 순서대로
+    @Query("SELECT p.id, i FROM Post p JOIN p.imageUrls i WHERE p.id IN :postIds ORDER BY p.id, INDEX(i)")
+    List<Object[]> findImageUrlsByPostIds(@Param("postIds") List<Long> postIds);
+
+    // 좋아요 수 증감 (행 전체를 다시 쓰지 않음)
+    @Modifying
+    @Query(value = "UPDATE posts SET like_count = like_count + :delta WHERE id = :postId", nativeQuery = true)
+    int addLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    // 댓글 수 증감
+    @Modifying
+    @Query(value = "UPDATE posts SET comment_count = GREATEST(comment_count + :delta, 0) WHERE id = :postId", nativeQuery = true)
+    int addCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
     // 작성자로 조회
     List<Post> findByAuthorOrderByCreatedAtDesc(User author);
 
@@ -0,0 +1,20 @@
+package com.ourclass.backend.repository;
+
+import com.ourclass.backend.entity.PostSearchTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostSearchTermRepository extends JpaRepository<PostSearchTerm, Long> {
+
+    @Modifying
+    @Query("DELETE FROM PostSearchTerm t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_search_terms", nativeQuery = true)
+    int deleteAllRows();
+}
@@ -0,0 +1,95 @@
+package com.ourclass.backend.repository;
+
+import com.ourclass.backend.entity.PostTimeline;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PostTimelineRepository extends JpaRepository<PostTimeline, Long> {
+
+    // 우리 학교 탭
+    @Query("SELECT t FROM PostTimeline t WHERE t.schoolName = :schoolName AND t.tab = 'all' " +
+           "AND t.grade IS NULL AND t.classNumber IS NULL " +
+           "AND (t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.postId < :cursorId)) " +
+           "ORDER BY t.createdAt DESC, t.postId DESC")
+    List<PostTimeline> findSchoolTimeline(
+        @Param("schoolName") String schoolName,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    // 우리 학년 탭
+    @Query("SELECT t FROM PostTimeline t WHERE t.schoolName = :schoolName AND t.tab = 'myGrade' AND t.grade IN :grades " +
+           "AND t.classNumber IS NULL " +
+           "AND (t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.postId < :cursorId)) " +
+           "ORDER BY t.createdAt DESC, t.postId DESC")
+    List<PostTimeline> findGradeTimeline(
+        @Param("schoolName") String schoolName,
+        @Param("grades") List<String> grades,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    // 우리 반 탭
+    @Query("SELECT t FROM PostTimeline t WHERE t.schoolName = :schoolName AND t.tab = 'myClass' " +
+           "AND t.grade = :grade AND t.classNumber = :classNumber " +
+           "AND (t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.postId < :cursorId)) " +
+           "ORDER BY t.createdAt DESC, t.postId DESC")
+    List<PostTimeline> findClassTimeline(
+        @Param("schoolName") String schoolName,
+        @Param("grade") String grade,
+        @Param("classNumber") String classNumber,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    // 탭별 새 글 수 (idx_timeline_scope 인덱스 범위 COUNT)
+    @Query("SELECT COUNT(t) FROM PostTimeline t WHERE t.schoolName = :schoolName AND t.tab = 'all' " +
+           "AND t.grade IS NULL AND t.classNumber IS NULL AND t.createdAt > :since")
+    long countSchoolTimelineSince(@Param("schoolName") String schoolName, @Param("since") LocalDateTime since);
+
+    @Query("SELECT COUNT(t) FROM PostTimeline t WHERE t.schoolName = :schoolName AND t.tab = 'myGrade' " +
+           "AND t.grade IN :grades AND t.classNumber IS NULL AND t.createdAt > :since")
+    long countGradeTimelineSince(@Param("schoolName") String schoolName, @Param("grades") List<String> grades, @Param("since") LocalDateTime since);
+
+    @Query("SELECT COUNT(t) FROM PostTimeline t WHERE t.schoolName = :schoolName AND t.tab = 'myClass' " +
+           "AND t.grade = :grade AND t.classNumber = :classNumber AND t.createdAt > :since")
+    long countClassTimelineSince(@Param("schoolName") String schoolName, @Param("grade") String grade,
+                                 @Param("classNumber") String classNumber, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM PostTimeline t WHERE t.postId = :postId")
+    void deleteByPostId(@Param("postId") Long postId);
+
+    // 재구축: 게시글이 없어졌거나 학교 정보가 없는 항목 삭제
+    @Modifying
+    @Query(value = "DELETE FROM post_timelines t WHERE NOT EXISTS (SELECT 1 FROM posts p " +
+           "WHERE p.id = t.post_id AND p.school_name IS NOT NULL)", nativeQuery = true)
+    int deleteOrphans();
+
+    // 재구축: posts 테이블 기준으로 없는 항목은 추가, 달라진 항목만 갱신 (동시에 작성된 글과 post_id 가 겹쳐도 실패하지 않음)
+    @Modifying
+    @Query(value = "INSERT INTO post_timelines (post_id, school_name, tab, grade, class_number, created_at) " +
+           "SELECT p.id, p.school_name, " +
+           "CASE p.visibility WHEN 'GRADE' THEN 'myGrade' WHEN 'CLASS' THEN 'myClass' ELSE 'all' END, " +
+           "CASE WHEN p.visibility IN ('GRADE', 'CLASS') THEN p.target_grade END, " +
+           "CASE WHEN p.visibility = 'CLASS' THEN p.target_class_number END, " +
+           "p.created_at " +
+           "FROM posts p WHERE p.school_name IS NOT NULL " +
+           "ON CONFLICT (post_id) DO UPDATE SET school_name = EXCLUDED.school_name, tab = EXCLUDED.tab, " +
+           "grade = EXCLUDED.grade, class_number = EXCLUDED.class_number, created_at = EXCLUDED.created_at " +
+           "WHERE (post_timelines.school_name, post_timelines.tab, post_timelines.grade, post_timelines.class_number, post_timelines.created_at) " +
+           "IS DISTINCT FROM (EXCLUDED.school_name, EXCLUDED.tab, EXCLUDED.grade, EXCLUDED.class_number, EXCLUDED.created_at)",
+           nativeQuery = true)
+    int upsertAllFromPosts();
+}
@@ -5,6 +5,8 @@ import com.ourclass.backend.entity.ReunionMember;
 import com.ourclass.backend.entity.ReunionMemberRole;
 import com.ourclass.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +16,8 @@ public interface ReunionMemberRepository extends JpaRepository<ReunionMember, Lo
     Optional<ReunionMember> findByReunionAndUser(Reunion reunion, User user);
     boolean existsByReunionAndUser(Reunion reunion, User user);
     Optional<ReunionMember> findByReunionAndRole(Reunion reunion, ReunionMemberRole role);
+
+    // 알림 수신자용 멤버 userId (멤버/사용자 엔티티는 읽지 않음)
+    @Query("SELECT m.user.userId FROM ReunionMember m WHERE m.reunion = :reunion")
+    List<String> findUserIdsByReunion(@Param("reunion") Reunion reunion);
 }
@@ -2,11 +2,24 @@ package com.ourclass.backend.repository;
 
 import com.ourclass.backend.entity.ReunionPost;
 import com.ourclass.backend.entity.ReunionPostComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ReunionPostCommentRepository extends JpaRepository<ReunionPostComment, Long> {
     List<ReunionPostComment> findByReunionPostAndParentCommentIsNullOrderByCreatedAtAsc(ReunionPost reunionPost);
     long countByReunionPost(ReunionPost reunionPost);
+
+    // 댓글 트리: 최상위 댓글 (cursorId 이후, author JOIN FETCH)
+    @Query("SELECT c FROM ReunionPostComment c JOIN FETCH c.author WHERE c.reunionPost.id = :postId " +
+           "AND c.parentComment IS NULL AND c.id > :cursorId ORDER BY c.id ASC")
+    List<ReunionPostComment> findTopLevelWithAuthor(@Param("postId") Long postId, @Param("cursorId") Long cursorId, Pageable pageable);
+
+    // 댓글 트리: 게시글의 모든 대댓글 (author JOIN FETCH)
+    @Query("SELECT c FROM ReunionPostComment c JOIN FETCH c.author WHERE c.reunionPost.id = :postId " +
+           "AND c.parentComment IS NOT NULL ORDER BY c.createdAt ASC, c.id ASC")
+    List<ReunionPostComment> findRepliesWithAuthor(@Param("postId") Long postId);
 }
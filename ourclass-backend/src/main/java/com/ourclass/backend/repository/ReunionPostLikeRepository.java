@@ -4,11 +4,29 @@ import com.ourclass.backend.entity.ReunionPost;
 import com.ourclass.backend.entity.ReunionPostLike;
 import com.ourclass.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ReunionPostLikeRepository extends JpaRepository<ReunionPostLike, Long> {
     Optional<ReunionPostLike> findByReunionPostAndUser(ReunionPost reunionPost, User user);
     long countByReunionPost(ReunionPost reunionPost);
     boolean existsByReunionPostAndUser(ReunionPost reunionPost, User user);
+
+    // 목록 내에서 사용자가 좋아요한 글 ID 일괄 조회
+    @Query("SELECT l.reunionPost.id FROM ReunionPostLike l WHERE l.user = :user AND l.reunionPost.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("user") User user, @Param("postIds") List<Long> postIds);
+
+    // 좋아요 추가 (이미 있으면 0 반환)
+    @Modifying
+    @Query(value = "INSERT INTO reunion_post_likes (reunion_post_id, user_id, created_at) VALUES (:postId, :userId, now()) " +
+           "ON CONFLICT (reunion_post_id, user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM reunion_post_likes WHERE reunion_post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteByReunionPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
 }
@@ -3,9 +3,16 @@ package com.ourclass.backend.repository;
 import com.ourclass.backend.entity.Reunion;
 import com.ourclass.backend.entity.ReunionPost;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ReunionPostRepository extends JpaRepository<ReunionPost, Long> {
     List<ReunionPost> findByReunionOrderByCreatedAtDesc(Reunion reunion);
+
+    @Modifying
+    @Query(value = "UPDATE reunion_posts SET like_count = like_count + :delta WHERE id = :postId", nativeQuery = true)
+    int addLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
 }
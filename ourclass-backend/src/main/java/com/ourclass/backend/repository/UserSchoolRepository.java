@@ -1,5 +1,6 @@
 package com.ourclass.backend.repository;
 
+import com.ourclass.backend.entity.User;
 import com.ourclass.backend.entity.UserSchool;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -10,4 +11,5 @@ import java.util.List;
 public interface UserSchoolRepository extends JpaRepository<UserSchool, Long> {
     List<UserSchool> findBySchoolNameAndGraduationYear(String schoolName, String graduationYear);
     List<UserSchool> findBySchoolCodeAndGraduationYear(String schoolCode, String graduationYear);
+    List<UserSchool> findByUserInOrderByIdAsc(List<User> users);
 }
@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +26,9 @@ public class AdminService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
     @Autowired
     private AlumniShopRepository alumniShopRepository;
 
@@ -37,6 +41,24 @@ public class AdminService {
     @Autowired
     private AnnouncementRepository announcementRepository;
 
+    @Autowired
+    private PostTimelineService postTimelineService;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private TrendingPostService trendingPostService;
+
+    @Autowired
+    private ChatFanoutService chatFanoutService;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private GroupChatService groupChatService;
+
     // ===== 사용자 관리 =====
 
     public List<UserManagementResponse> getAllUsers() {
@@ -107,9 +129,30 @@ public class AdminService {
         verifyAdmin(adminId);
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+        commentRepository.deleteAllByPostId(postId);
+        postLikeRepository.deleteAllByPostId(postId);
+        postTimelineService.remove(postId);
+        postSearchService.remove(postId);
+        trendingPostService.remove(post);
         postRepository.delete(post);
     }
 
+    // 피드 타임라인 재구축 (posts 테이블 기준)
+    public int rebuildPostTimelines(String adminId) {
+        verifyAdmin(adminId);
+        return postTimelineService.rebuild();
+    }
+
+    public Map<String, Object> getChatFanoutStats(String adminId) {
+        verifyAdmin(adminId);
+        return chatFanoutService.getStats();
+    }
+
+    public Map<String, Object> getChatMessageCacheStats(String adminId) {
+        verifyAdmin(adminId);
+        return Map.of("dm", chatService.getMessageCacheStats(), "group", groupChatService.getMessageCacheStats());
+    }
+
     // ===== 댓글 관리 =====
 
     public List<AdminCommentResponse> getAllComments(String keyword) {
@@ -132,7 +175,10 @@ public class AdminService {
         verifyAdmin(adminId);
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다."));
-        commentRepository.delete(comment);
+        Post post = comment.getPost();
+        int deletedCount = commentRepository.deleteSubtree(commentId);
+        postRepository.addCommentCount(post.getId(), -deletedCount);
+        postSearchService.indexPost(post);
     }
 
     // ===== 동창가게 관리 =====
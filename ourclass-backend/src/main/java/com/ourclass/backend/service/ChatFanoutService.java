@@ -0,0 +1,241 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.dto.NotificationDraft;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 전송 후처리 (커밋 이후 비동기): 채팅방 브로드캐스트, 뱃지 푸시, 알림 저장.
+ * 전송 트랜잭션은 메시지/채팅방 저장만 하고, 나머지는 제한된 큐에 넣어 전용 스레드가 묶어서 처리.
+ * 큐가 가득 차면 잠시 기다린 뒤 채팅방 브로드캐스트만 호출 스레드에서 보내고, 뱃지/알림은 버림 (지표로 집계).
+ */
+@Service
+@Slf4j
+public class ChatFanoutService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationService notificationService;
+    // 알림 저장은 항상 새 트랜잭션 (워커 스레드/종료 처리에서 바깥 트랜잭션에 합류하지 않도록)
+    private final TransactionTemplate notificationTx;
+    private final BlockingQueue<Task> queue;
+    private final int maxBatchSize;
+    private final long offerTimeoutMs;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    // 지표
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong shedBadges = new AtomicLong();
+    private final AtomicLong shedNotifications = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong maxBatch = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+
+    public ChatFanoutService(SimpMessagingTemplate messagingTemplate, NotificationService notificationService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${chat.fanout.queue-capacity:10000}") int queueCapacity,
+                             @Value("${chat.fanout.max-batch-size:200}") int maxBatchSize,
+                             @Value("${chat.fanout.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.notificationService = notificationService;
+        this.notificationTx = new TransactionTemplate(transactionManager);
+        this.notificationTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    // 전송 후처리 작업 단위
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Task {
+        // 브로드캐스트 대상 토픽과 내용 (예: /topic/chat/{roomId})
+        private String destination;
+        private Object payload;
+        // 새 메시지 뱃지를 받을 사용자들 (/topic/user/{userId}/chat-notify)
+        private List<String> badgeUserIds;
+        private Map<String, Object> badgePayload;
+        // 뱃지 토픽 (비어 있으면 /chat-notify, 찐모임 채팅방은 /reunion-notify)
+        private String badgeTopic;
+        // 저장할 알림
+        private List<NotificationDraft> notifications;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::runLoop, "chat-fanout");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 현재 트랜잭션 커밋 이후 큐에 등록 (롤백되면 아무것도 보내지 않음)
+    public void publishAfterCommit(Task task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(task);
+                }
+            });
+        } else {
+            publish(task);
+        }
+    }
+
+    public void publish(Task task) {
+        try {
+            if (running && queue.offer(task, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.incrementAndGet();
+                maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 큐 포화: 호출 스레드(커밋한 STOMP/HTTP 스레드)에서는 채팅방 브로드캐스트만 보내고
+        // 뱃지 푸시와 알림 저장(새 트랜잭션)은 버림 → 포화 상태에서 인바운드 스레드가 DB 작업에 묶이지 않음
+        callerRuns.incrementAndGet();
+        broadcast(task);
+        shed(task);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueRemainingCapacity", queue.remainingCapacity());
+        stats.put("maxQueueDepth", maxQueueDepth.get());
+        stats.put("enqueued", enqueued.get());
+        stats.put("processed", processed.get());
+        stats.put("callerRuns", callerRuns.get());
+        stats.put("shedBadges", shedBadges.get());
+        stats.put("shedNotifications", shedNotifications.get());
+        stats.put("failed", failed.get());
+        stats.put("batches", batches.get());
+        stats.put("maxBatchSize", maxBatch.get());
+        return stats;
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Task first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Task> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (Exception e) {
+                log.error("채팅 후처리 오류: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // 브로드캐스트/뱃지는 작업별로, 알림은 배치 전체를 한 트랜잭션으로 저장
+    private void process(List<Task> batch) {
+        batches.incrementAndGet();
+        maxBatch.accumulateAndGet(batch.size(), Math::max);
+
+        List<NotificationDraft> drafts = new ArrayList<>();
+        for (Task task : batch) {
+            broadcast(task);
+            try {
+                if (task.getBadgeUserIds() != null && task.getBadgePayload() != null) {
+                    String badgeTopic = task.getBadgeTopic() != null ? task.getBadgeTopic() : "/chat-notify";
+                    for (String userId : task.getBadgeUserIds()) {
+                        messagingTemplate.convertAndSend("/topic/user/" + userId + badgeTopic, task.getBadgePayload());
+                    }
+                }
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.warn("채팅 뱃지 전송 실패 ({}): {}", task.getDestination(), e.getMessage());
+            }
+            if (task.getNotifications() != null) {
+                drafts.addAll(task.getNotifications());
+            }
+        }
+
+        try {
+            if (!drafts.isEmpty()) {
+                notificationTx.executeWithoutResult(status -> notificationService.createAndSendAll(drafts));
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("채팅 알림 저장 실패 ({}건): {}", drafts.size(), e.getMessage());
+        }
+        processed.addAndGet(batch.size());
+    }
+
+    // 채팅방 브로드캐스트
+    private void broadcast(Task task) {
+        if (task.getDestination() == null || task.getPayload() == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(task.getDestination(), task.getPayload());
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("채팅 브로드캐스트 실패 ({}): {}", task.getDestination(), e.getMessage());
+        }
+    }
+
+    // 큐 포화로 버린 뱃지/알림 집계 (뱃지는 다음 목록 조회 시 안 읽은 수로 복구됨)
+    private void shed(Task task) {
+        int badges = task.getBadgeUserIds() != null && task.getBadgePayload() != null ? task.getBadgeUserIds().size() : 0;
+        int notifications = task.getNotifications() != null ? task.getNotifications().size() : 0;
+        if (badges == 0 && notifications == 0) {
+            return;
+        }
+        shedBadges.addAndGet(badges);
+        shedNotifications.addAndGet(notifications);
+        log.warn("채팅 후처리 큐 포화: 뱃지 {}건, 알림 {}건 생략 ({})", badges, notifications, task.getDestination());
+    }
+
+    // 종료 시 남은 작업 처리
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        List<Task> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            process(remaining);
+        }
+    }
+}
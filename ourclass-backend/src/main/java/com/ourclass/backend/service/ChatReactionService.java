@@ -0,0 +1,173 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.dto.ReactionSummaryResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 채팅 메시지 리액션 (1:1 / 그룹 공용).
+ * - 토글: DELETE 후 없으면 INSERT ... ON CONFLICT DO NOTHING (조회 후 저장/삭제 경쟁 없음)
+ * - 집계: chat_message_reaction_counts 를 같은 트랜잭션에서 증감 UPSERT
+ * - 조회: 이모지별 인원 수 + 조회자 본인 리액션만 (누른 사람 행 전체는 읽지 않음)
+ * 권한 확인, 이벤트 순번, 브로드캐스트는 호출하는 채팅 서비스에서 처리.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatReactionService {
+
+    public static final String SOURCE_DM = "DM";
+    public static final String SOURCE_GROUP = "GROUP";
+
+    // chat_message_reactions.emoji 컬럼 길이
+    private static final int MAX_EMOJI_LENGTH = 10;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    // 토글 결과: added=true 면 추가, false 면 취소 / count = 변경 후 해당 이모지 인원 수
+    public record Toggle(boolean added, int count) {
+        public String action() {
+            return added ? "added" : "removed";
+        }
+    }
+
+    @Transactional
+    public Toggle toggle(String source, Long messageId, String userId, String userName, String emoji) {
+        if (emoji == null || emoji.isBlank() || emoji.length() > MAX_EMOJI_LENGTH) {
+            throw new RuntimeException("올바르지 않은 이모지입니다.");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("source", source)
+                .addValue("messageId", messageId)
+                .addValue("userId", userId)
+                .addValue("userName", userName)
+                .addValue("emoji", emoji);
+
+        int removed = namedJdbcTemplate.update("DELETE FROM chat_message_reactions " +
+                "WHERE message_id = :messageId AND message_source = :source AND user_id = :userId AND emoji = :emoji", params);
+        if (removed > 0) {
+            List<Integer> left = namedJdbcTemplate.queryForList("UPDATE chat_message_reaction_counts " +
+                    "SET reaction_count = reaction_count - 1 " +
+                    "WHERE message_source = :source AND message_id = :messageId AND emoji = :emoji " +
+                    "RETURNING reaction_count", params, Integer.class);
+            int count = left.isEmpty() ? 0 : Math.max(left.get(0), 0);
+            if (count == 0) {
+                namedJdbcTemplate.update("DELETE FROM chat_message_reaction_counts " +
+                        "WHERE message_source = :source AND message_id = :messageId AND emoji = :emoji AND reaction_count <= 0", params);
+            }
+            return new Toggle(false, count);
+        }
+
+        int inserted = namedJdbcTemplate.update("INSERT INTO chat_message_reactions " +
+                "(message_id, message_source, user_id, user_name, emoji, created_at) " +
+                "VALUES (:messageId, :source, :userId, :userName, :emoji, NOW()) " +
+                "ON CONFLICT (message_id, message_source, user_id, emoji) DO NOTHING", params);
+        if (inserted == 0) {
+            // 동시에 같은 리액션이 추가됨: 이미 반영된 인원 수만 반환
+            return new Toggle(true, countOf(params));
+        }
+        List<Integer> total = namedJdbcTemplate.queryForList("INSERT INTO chat_message_reaction_counts " +
+                "(message_source, message_id, emoji, reaction_count) VALUES (:source, :messageId, :emoji, 1) " +
+                "ON CONFLICT (message_source, message_id, emoji) " +
+                "DO UPDATE SET reaction_count = chat_message_reaction_counts.reaction_count + 1 " +
+                "RETURNING reaction_count", params, Integer.class);
+        return new Toggle(true, total.isEmpty() ? 1 : total.get(0));
+    }
+
+    // 메시지별 이모지 인원 수 (조회자 정보 없음, 캐시에 그대로 보관 가능)
+    public Map<Long, List<ReactionSummaryResponse>> loadCounts(String source, Collection<Long> messageIds) {
+        Map<Long, List<ReactionSummaryResponse>> result = new HashMap<>();
+        if (messageIds.isEmpty()) {
+            return result;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("source", source)
+                .addValue("messageIds", messageIds);
+        namedJdbcTemplate.query("SELECT message_id, emoji, reaction_count FROM chat_message_reaction_counts " +
+                "WHERE message_source = :source AND message_id IN (:messageIds) AND reaction_count > 0 " +
+                "ORDER BY message_id, id", params, rs -> {
+            result.computeIfAbsent(rs.getLong("message_id"), k -> new ArrayList<>())
+                    .add(ReactionSummaryResponse.builder()
+                            .emoji(rs.getString("emoji"))
+                            .count(rs.getInt("reaction_count"))
+                            .build());
+        });
+        return result;
+    }
+
+    // 조회자가 누른 이모지 (메시지 ID 범위의 인덱스 조회)
+    public Map<Long, Set<String>> loadMine(String source, String userId, Collection<Long> messageIds) {
+        Map<Long, Set<String>> result = new HashMap<>();
+        if (messageIds.isEmpty() || userId == null) {
+            return result;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("source", source)
+                .addValue("userId", userId)
+                .addValue("messageIds", messageIds);
+        namedJdbcTemplate.query("SELECT message_id, emoji FROM chat_message_reactions " +
+                "WHERE message_source = :source AND user_id = :userId AND message_id IN (:messageIds)", params, rs -> {
+            result.computeIfAbsent(rs.getLong("message_id"), k -> new HashSet<>()).add(rs.getString("emoji"));
+        });
+        return result;
+    }
+
+    // 집계에 조회자 본인 리액션 표시 (원본 목록은 수정하지 않음)
+    public static List<ReactionSummaryResponse> withMine(List<ReactionSummaryResponse> counts, Set<String> mine) {
+        if (counts == null || counts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (mine == null || mine.isEmpty()) {
+            return counts;
+        }
+        List<ReactionSummaryResponse> result = new ArrayList<>(counts.size());
+        for (ReactionSummaryResponse summary : counts) {
+            result.add(summary.toBuilder().reactedByMe(mine.contains(summary.getEmoji())).build());
+        }
+        return result;
+    }
+
+    // 브로드캐스트용 변경분 (채팅방 토픽으로 전송)
+    public static Map<String, Object> toDelta(Long roomId, Long messageId, Long seq, String userId, String emoji, Toggle toggle) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("type", "REACTION_DELTA");
+        delta.put("roomId", roomId);
+        delta.put("messageId", messageId);
+        delta.put("seq", seq);
+        delta.put("emoji", emoji);
+        delta.put("userId", userId);
+        delta.put("action", toggle.action());
+        delta.put("count", toggle.count());
+        return delta;
+    }
+
+    // 1:1 채팅방 삭제 전: 방 메시지의 리액션/집계 행 정리 (message_id 는 FK 가 아니라 메시지와 함께 지워지지 않음)
+    @Transactional
+    public void deleteForDmRoom(Long chatRoomId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("source", SOURCE_DM)
+                .addValue("roomId", chatRoomId);
+        namedJdbcTemplate.update("DELETE FROM chat_message_reactions WHERE message_source = :source " +
+                "AND message_id IN (SELECT id FROM chat_messages WHERE chat_room_id = :roomId)", params);
+        namedJdbcTemplate.update("DELETE FROM chat_message_reaction_counts WHERE message_source = :source " +
+                "AND message_id IN (SELECT id FROM chat_messages WHERE chat_room_id = :roomId)", params);
+    }
+
+    private int countOf(MapSqlParameterSource params) {
+        List<Integer> counts = namedJdbcTemplate.queryForList("SELECT reaction_count FROM chat_message_reaction_counts " +
+                "WHERE message_source = :source AND message_id = :messageId AND emoji = :emoji", params, Integer.class);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+}
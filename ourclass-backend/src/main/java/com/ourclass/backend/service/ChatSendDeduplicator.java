@@ -0,0 +1,83 @@
+package com.ourclass.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 채팅 전송 재시도 중복 방지 (clientMessageId).
+ * (발신자, clientMessageId) -> 저장된 메시지 ID 를 잠시 기억해 재시도 시 DB 조회 없이 원래 메시지를 찾는다.
+ * 캐시에서 빠졌거나 다른 인스턴스로 온 재시도는 DB 고유 제약 (sender_id, client_message_id) 으로 막힌다.
+ */
+@Service
+public class ChatSendDeduplicator {
+
+    // 중복 검사 범위 (1:1 / 그룹 메시지는 ID 공간이 달라 따로 기억)
+    public static final String SCOPE_DM = "DM";
+    public static final String SCOPE_GROUP = "GROUP";
+
+    // clientMessageId 최대 길이 (컬럼 길이와 동일)
+    public static final int MAX_CLIENT_MESSAGE_ID_LENGTH = 64;
+
+    private final long ttlMs;
+    private final int maxEntries;
+
+    // "DM|userId|clientMessageId" -> 메시지 ID (삽입 순 = 오래된 순)
+    private final Map<String, Entry> entries;
+
+    private record Entry(Long messageId, long createdAt) {
+    }
+
+    public ChatSendDeduplicator(@Value("${chat.dedupe.ttl-ms:600000}") long ttlMs,
+                                @Value("${chat.dedupe.max-entries:100000}") int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(1024, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ChatSendDeduplicator.this.maxEntries
+                        || System.currentTimeMillis() - eldest.getValue().createdAt() > ChatSendDeduplicator.this.ttlMs;
+            }
+        };
+    }
+
+    // 빈 값은 중복 검사 안 함, 너무 길면 거부
+    public static String normalize(String clientMessageId) {
+        if (clientMessageId == null || clientMessageId.isBlank()) {
+            return null;
+        }
+        String trimmed = clientMessageId.trim();
+        if (trimmed.length() > MAX_CLIENT_MESSAGE_ID_LENGTH) {
+            throw new RuntimeException("clientMessageId는 " + MAX_CLIENT_MESSAGE_ID_LENGTH + "자 이하여야 합니다.");
+        }
+        return trimmed;
+    }
+
+    public Long find(String scope, String senderUserId, String clientMessageId) {
+        String key = key(scope, senderUserId, clientMessageId);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.createdAt() > ttlMs) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.messageId();
+        }
+    }
+
+    // 전송 트랜잭션 커밋 이후 호출
+    public void remember(String scope, String senderUserId, String clientMessageId, Long messageId) {
+        synchronized (entries) {
+            entries.put(key(scope, senderUserId, clientMessageId), new Entry(messageId, System.currentTimeMillis()));
+        }
+    }
+
+    private static String key(String scope, String senderUserId, String clientMessageId) {
+        return scope + "|" + senderUserId + "|" + clientMessageId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ourclass.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 채팅방별 이벤트 순번 배정 (1:1 / 그룹).
+ * 방 행의 last_seq 를 UPDATE ... RETURNING 으로 증가시키므로 같은 방의 이벤트는 커밋 순서대로 직렬화되고,
+ * 롤백되면 순번도 되돌아가 빈 번호가 생기지 않는다. 반드시 이벤트를 기록하는 트랜잭션 안에서 호출.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatSequenceService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long nextDmSeq(Long roomId) {
+        return next("UPDATE chat_rooms SET last_seq = COALESCE(last_seq, 0) + 1 WHERE id = ? RETURNING last_seq", roomId);
+    }
+
+    public long nextGroupSeq(Long roomId) {
+        return next("UPDATE group_chat_rooms SET last_seq = COALESCE(last_seq, 0) + 1 WHERE id = ? RETURNING last_seq", roomId);
+    }
+
+    // 순번 없이 방 행만 잠금 (멤버 변경처럼 이벤트 기록 전에 같은 방의 전송과 직렬화해야 할 때)
+    public void lockGroupRoom(Long roomId) {
+        if (jdbcTemplate.queryForList("SELECT id FROM group_chat_rooms WHERE id = ? FOR UPDATE", Long.class, roomId).isEmpty()) {
+            throw new RuntimeException("채팅방을 찾을 수 없습니다.");
+        }
+    }
+
+    private long next(String sql, Long roomId) {
+        List<Long> seq = jdbcTemplate.queryForList(sql, Long.class, roomId);
+        if (seq.isEmpty()) {
+            throw new RuntimeException("채팅방을 찾을 수 없습니다.");
+        }
+        return seq.get(0);
+    }
+}
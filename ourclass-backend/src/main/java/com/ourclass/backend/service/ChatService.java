@@ -1,28 +1,57 @@
 package com.ourclass.backend.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.ourclass.backend.dto.ChatMessageResponse;
-import com.ourclass.backend.dto.ReactionResponse;
-import com.ourclass.backend.entity.ChatMessageReaction;
-import com.ourclass.backend.repository.ChatMessageReactionRepository;
+import com.ourclass.backend.dto.NotificationDraft;
+import com.ourclass.backend.dto.ReactionSummaryResponse;
 import com.ourclass.backend.dto.ChatRoomResponse;
+import com.ourclass.backend.dto.ChatSyncResponse;
 import com.ourclass.backend.entity.ChatMessage;
 import com.ourclass.backend.entity.ChatRoom;
 import com.ourclass.backend.entity.User;
 import com.ourclass.backend.repository.ChatMessageRepository;
 import com.ourclass.backend.repository.ChatRoomRepository;
 import com.ourclass.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class ChatService {
 
+    // 채팅 목록 페이지 크기
+    private static final int DEFAULT_INBOX_PAGE_SIZE = 50;
+    private static final int MAX_INBOX_PAGE_SIZE = 200;
+    // 첫 페이지 커서 / 메시지가 없는 방의 정렬 키 (findInbox 와 동일)
+    private static final LocalDateTime INBOX_CURSOR_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final LocalDateTime INBOX_NO_MESSAGE_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // 메시지 페이지 크기
+    private static final int DEFAULT_MESSAGE_PAGE_SIZE = 50;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 200;
+
+    // sync 한 번에 돌려줄 최대 이벤트 수 (기본 / 최대)
+    private static final int DEFAULT_SYNC_PAGE_SIZE = 200;
+    private static final int MAX_SYNC_PAGE_SIZE = 1000;
+
     @Autowired
     private ChatRoomRepository chatRoomRepository;
 
@@ -33,10 +62,71 @@ public class ChatService {
     private UserRepository userRepository;
 
     @Autowired
-    private NotificationService notificationService;
+    private ChatFanoutService chatFanoutService;
+
+    @Autowired
+    private ChatReactionService reactionService;
+
+    @Autowired
+    private ChatSendDeduplicator sendDeduplicator;
+
+    @Autowired
+    private ChatSequenceService sequenceService;
 
     @Autowired
-    private ChatMessageReactionRepository reactionRepository;
+    private ClusterEventBus clusterEventBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 다른 인스턴스의 메시지 캐시 추가/무효화 채널
+    private static final String CACHE_CLUSTER_CHANNEL = "chat_dm_cache";
+
+    @Value("${chat.message-cache.room-capacity:50}")
+    private int messageCacheRoomCapacity;
+
+    @Value("${chat.message-cache.max-bytes:33554432}")
+    private long messageCacheMaxBytes;
+
+    @Value("${chat.message-cache.max-rooms:20000}")
+    private int messageCacheMaxRooms;
+
+    @Value("${chat.message-cache.max-age-ms:60000}")
+    private long messageCacheMaxAgeMs;
+
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    // 다중 인스턴스(relay)인데 클러스터 이벤트 버스가 꺼져 있으면 캐시를 쓰지 않음 (다른 인스턴스의 쓰기를 알 수 없음)
+    private boolean messageCacheEnabled;
+
+    // 활성 채팅방의 최근 메시지 (조회자와 무관한 값만 저장, 조회 시 읽음/삭제 표시를 조회자 기준으로 채움)
+    private RoomMessageCache<ChatMessageResponse> messageCache;
+
+    @PostConstruct
+    public void initMessageCache() {
+        messageCache = new RoomMessageCache<>("DM", messageCacheRoomCapacity, messageCacheMaxBytes,
+                messageCacheMaxRooms, messageCacheMaxAgeMs, ChatMessageResponse::getId,
+                m -> m.getSeq() != null ? m.getSeq() : -1L, ChatService::estimateSize);
+        messageCacheEnabled = !"relay".equalsIgnoreCase(brokerMode) || clusterEventBus.isEnabled();
+        clusterEventBus.subscribe(CACHE_CLUSTER_CHANNEL, this::applyRemoteCacheEvent);
+        // 수신이 끊긴 동안 놓친 이벤트가 있을 수 있으므로 (재)연결마다 전체 무효화
+        clusterEventBus.onConnect(messageCache::invalidateAll);
+    }
+
+    // 다른 인스턴스의 전송은 뒤에 추가 (순번이 이어질 때만 반영됨), 그 외 변경은 무효화
+    private void applyRemoteCacheEvent(JsonNode event) {
+        Long roomId = event.path("roomId").asLong();
+        if (event.hasNonNull("message")) {
+            try {
+                messageCache.append(roomId, objectMapper.treeToValue(event.get("message"), ChatMessageResponse.class));
+                return;
+            } catch (Exception e) {
+                log.warn("캐시 이벤트 처리 실패: {}", e.getMessage());
+            }
+        }
+        messageCache.invalidate(roomId);
+    }
 
     // 채팅방 생성 또는 기존 방 반환
     @Transactional
@@ -54,29 +144,47 @@ public class ChatService {
 
     // 내 채팅방 목록
     public List<ChatRoomResponse> getMyChatRooms(String userId) {
-        User user = userRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
+        return getMyChatRooms(userId, null, null, null);
+    }
 
-        return chatRoomRepository.findByUser(user).stream()
-                .map(room -> {
-                    User otherUser = room.getUser1().getUserId().equals(userId) ? room.getUser2() : room.getUser1();
-                    long unreadCount = chatMessageRepository.countUnreadMessages(room, user);
-
-                    return ChatRoomResponse.builder()
-                            .id(room.getId())
-                            .otherUser(ChatRoomResponse.UserInfo.builder()
-                                    .userId(otherUser.getUserId())
-                                    .name(otherUser.getName())
-                                    .profileImageUrl(otherUser.getProfileImageUrl())
-                                    .build())
-                            .lastMessage(room.getLastMessage())
-                            .lastMessageAt(room.getLastMessageAt())
-                            .unreadCount(unreadCount)
-                            .build();
-                })
+    // 내 채팅방 목록 (커서 페이징): 방/상대 프로필/마지막 메시지/안 읽은 수를 한 번의 쿼리로
+    // cursorLastMessageAt/cursorRoomId = 이전 페이지 마지막 방 (메시지가 없는 방은 lastMessageAt 없이 cursorRoomId만)
+    // 커서/크기 없이 호출하면 기존처럼 전체 목록 (페이징을 모르는 클라이언트 호환)
+    @Transactional(readOnly = true)
+    public List<ChatRoomResponse> getMyChatRooms(String userId, LocalDateTime cursorLastMessageAt, Long cursorRoomId, Integer size) {
+        boolean fullList = cursorLastMessageAt == null && cursorRoomId == null && size == null;
+        int pageSize = fullList ? Integer.MAX_VALUE
+                : (size == null || size <= 0) ? DEFAULT_INBOX_PAGE_SIZE : Math.min(size, MAX_INBOX_PAGE_SIZE);
+        LocalDateTime cursorAt;
+        if (cursorRoomId == null) {
+            cursorAt = INBOX_CURSOR_START;
+        } else {
+            cursorAt = cursorLastMessageAt != null ? cursorLastMessageAt : INBOX_NO_MESSAGE_AT;
+        }
+        Long cursorId = cursorRoomId != null ? cursorRoomId : Long.MAX_VALUE;
+
+        return chatRoomRepository.findInbox(userId, cursorAt, cursorId, pageSize).stream()
+                .map(row -> ChatRoomResponse.builder()
+                        .id(((Number) row[0]).longValue())
+                        .otherUser(ChatRoomResponse.UserInfo.builder()
+                                .userId((String) row[3])
+                                .name((String) row[4])
+                                .profileImageUrl((String) row[5])
+                                .build())
+                        .lastMessage((String) row[1])
+                        .lastMessageAt(toLocalDateTime(row[2]))
+                        .unreadCount(((Number) row[6]).longValue())
+                        .build())
                 .collect(Collectors.toList());
     }
 
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
     // 메시지 전송 (텍스트)
     @Transactional
     public ChatMessageResponse sendMessage(Long chatRoomId, String senderUserId, String content) {
@@ -87,6 +195,22 @@ public class ChatService {
     @Transactional
     public ChatMessageResponse sendMessage(Long chatRoomId, String senderUserId, String content,
                                             String messageType, String attachmentUrl, String fileName, Long fileSize) {
+        return sendMessage(chatRoomId, senderUserId, content, messageType, attachmentUrl, fileName, fileSize, null);
+    }
+
+    // 메시지 전송 (clientMessageId 가 있으면 재시도 시 원래 메시지를 그대로 반환, 브로드캐스트/알림 없음)
+    @Transactional
+    public ChatMessageResponse sendMessage(Long chatRoomId, String senderUserId, String content,
+                                            String messageType, String attachmentUrl, String fileName, Long fileSize,
+                                            String clientMessageId) {
+        String clientId = ChatSendDeduplicator.normalize(clientMessageId);
+        if (clientId != null) {
+            ChatMessageResponse existing = findSentMessage(senderUserId, clientId);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
         ChatRoom room = chatRoomRepository.findById(chatRoomId)
                 .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다"));
         User sender = userRepository.findByUserId(senderUserId)
@@ -94,16 +218,23 @@ public class ChatService {
 
         String type = (messageType != null && !messageType.isEmpty()) ? messageType : "TEXT";
 
+        long seq = sequenceService.nextDmSeq(chatRoomId);
         ChatMessage message = ChatMessage.builder()
                 .chatRoom(room)
                 .sender(sender)
+                .seq(seq)
+                .eventSeq(seq)
                 .content(content)
+                .clientMessageId(clientId)
                 .messageType(type)
                 .attachmentUrl(attachmentUrl)
                 .fileName(fileName)
                 .fileSize(fileSize)
                 .build();
         chatMessageRepository.save(message);
+        if (clientId != null) {
+            afterCommit(() -> sendDeduplicator.remember(ChatSendDeduplicator.SCOPE_DM, senderUserId, clientId, message.getId()));
+        }
 
         // 채팅방 마지막 메시지 업데이트
         String lastMsg;
@@ -118,69 +249,145 @@ public class ChatService {
         room.setLastMessageAt(LocalDateTime.now());
         chatRoomRepository.save(room);
 
-        // 상대방에게 알림
+        ChatMessageResponse response = toMessageResponse(message, senderUserId, room);
+        appendCacheOnCommit(chatRoomId, toCachedMessage(message));
+
+        // 브로드캐스트, 상대방 뱃지, 알림 저장은 커밋 이후 비동기 처리
         User otherUser = room.getUser1().getUserId().equals(senderUserId) ? room.getUser2() : room.getUser1();
         String notifMsg = "IMAGE".equals(type) ? sender.getName() + "님이 사진을 보냈습니다"
                          : "FILE".equals(type) ? sender.getName() + "님이 파일을 보냈습니다"
                          : sender.getName() + "님이 메시지를 보냈습니다";
-        notificationService.createAndSend(
-                otherUser.getUserId(),
-                senderUserId,
-                sender.getName(),
-                "CHAT",
-                notifMsg,
-                chatRoomId
-        );
+        chatFanoutService.publishAfterCommit(ChatFanoutService.Task.builder()
+                .destination("/topic/chat/" + chatRoomId)
+                .payload(response)
+                .badgeUserIds(List.of(otherUser.getUserId()))
+                .badgePayload(Map.of("type", "NEW_MESSAGE", "roomId", chatRoomId, "source", "DM"))
+                .notifications(List.of(NotificationDraft.builder()
+                        .recipientUserId(otherUser.getUserId())
+                        .senderUserId(senderUserId)
+                        .senderName(sender.getName())
+                        .type("CHAT")
+                        .content(notifMsg)
+                        .referenceId(chatRoomId)
+                        .build()))
+                .build());
+
+        return response;
+    }
 
-        return toMessageResponse(message, senderUserId);
+    // 같은 clientMessageId 로 이미 저장된 메시지 (최근 전송은 메모리 캐시, 그 외에는 고유 제약 컬럼 조회)
+    @Transactional(readOnly = true)
+    public ChatMessageResponse findSentMessage(String senderUserId, String clientMessageId) {
+        String clientId = ChatSendDeduplicator.normalize(clientMessageId);
+        if (clientId == null) {
+            return null;
+        }
+        Long messageId = sendDeduplicator.find(ChatSendDeduplicator.SCOPE_DM, senderUserId, clientId);
+        ChatMessage message = messageId != null
+                ? chatMessageRepository.findById(messageId).orElse(null)
+                : chatMessageRepository.findByClientMessageId(senderUserId, clientId).orElse(null);
+        if (message == null) {
+            return null;
+        }
+        if (messageId == null) {
+            sendDeduplicator.remember(ChatSendDeduplicator.SCOPE_DM, senderUserId, clientId, message.getId());
+        }
+        return toMessageResponse(message, senderUserId, message.getChatRoom());
     }
 
     // 채팅방 메시지 목록 (읽음 처리 포함)
     @Transactional
     public List<ChatMessageResponse> getMessages(Long chatRoomId, String userId) {
+        return getMessages(chatRoomId, userId, null, null, null);
+    }
+
+    // 채팅방 읽음 처리만 (메시지는 읽지 않음)
+    @Transactional
+    public void markAsRead(Long chatRoomId, String userId) {
+        ChatRoom room = chatRoomRepository.findById(chatRoomId)
+                .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다"));
+        User user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
+        markRoomRead(room, user);
+    }
+
+    // 채팅방 메시지 페이지 (읽음 처리 포함): before = 이전 메시지 더 보기, after = 새 메시지만, limit 만 있으면 최신 페이지, 모두 없으면 전체
+    @Transactional
+    public List<ChatMessageResponse> getMessages(Long chatRoomId, String userId, Long beforeId, Long afterId, Integer limit) {
         ChatRoom room = chatRoomRepository.findById(chatRoomId)
                 .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다"));
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
 
         // 읽음 처리
-        chatMessageRepository.markAsRead(room, user);
+        markRoomRead(room, user);
 
-        return fetchMessages(chatRoomId, userId);
+        return fetchMessages(room, userId, beforeId, afterId, limit);
     }
 
     // 채팅방 메시지 목록 (읽음 처리 없이 - 폴링용)
     @Transactional(readOnly = true)
     public List<ChatMessageResponse> getMessagesWithoutMarkRead(Long chatRoomId, String userId) {
-        return fetchMessages(chatRoomId, userId);
+        return getMessagesWithoutMarkRead(chatRoomId, userId, null, null, null);
     }
 
-    private List<ChatMessageResponse> fetchMessages(Long chatRoomId, String userId) {
+    @Transactional(readOnly = true)
+    public List<ChatMessageResponse> getMessagesWithoutMarkRead(Long chatRoomId, String userId, Long beforeId, Long afterId, Integer limit) {
         ChatRoom room = chatRoomRepository.findById(chatRoomId)
                 .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다"));
+        return fetchMessages(room, userId, beforeId, afterId, limit);
+    }
 
-        List<ChatMessage> messages = chatMessageRepository.findByChatRoomOrderBySentAtAsc(room).stream()
-                .filter(msg -> !Boolean.TRUE.equals(msg.getCompletelyDeleted()))
-                .collect(Collectors.toList());
-
-        // 리액션 일괄 조회
-        List<Long> msgIds = messages.stream().map(ChatMessage::getId).collect(Collectors.toList());
-        Map<Long, List<ReactionResponse>> reactionsMap = new java.util.HashMap<>();
-        if (!msgIds.isEmpty()) {
-            List<ChatMessageReaction> allReactions = reactionRepository.findByMessageIdInAndMessageSource(msgIds, "DM");
-            for (ChatMessageReaction r : allReactions) {
-                reactionsMap.computeIfAbsent(r.getMessageId(), k -> new java.util.ArrayList<>())
-                        .add(ReactionResponse.builder().emoji(r.getEmoji()).userId(r.getUserId()).userName(r.getUserName()).build());
+    // (chat_room_id, id) 인덱스 범위 조회로 한 페이지만 읽고, 결과는 항상 오래된 순
+    // 페이징 파라미터(before/after/limit)가 하나도 없으면 기존처럼 전체 기록
+    // 최신 페이지/새 메시지 조회는 캐시에 있으면 DB를 읽지 않음
+    private List<ChatMessageResponse> fetchMessages(ChatRoom room, String userId, Long beforeId, Long afterId, Integer limit) {
+        Long chatRoomId = room.getId();
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_MESSAGE_PAGE_SIZE : Math.min(limit, MAX_MESSAGE_PAGE_SIZE);
+        boolean latestPage = beforeId == null && afterId == null;
+        boolean fullHistory = latestPage && limit == null;
+        if (messageCacheEnabled && !fullHistory && beforeId == null && pageSize <= messageCache.getRoomCapacity()) {
+            List<ChatMessageResponse> cached = afterId != null
+                    ? messageCache.after(chatRoomId, afterId, pageSize)
+                    : messageCache.latest(chatRoomId, pageSize);
+            if (cached != null) {
+                return forViewer(cached, userId, room);
             }
         }
 
-        return messages.stream()
+        // 최신 페이지는 캐시를 채울 수 있도록 버퍼 크기만큼 읽음
+        boolean seedCache = latestPage && messageCacheEnabled;
+        long cacheVersion = seedCache ? messageCache.beginLoad(chatRoomId) : 0L;
+        int loadSize = fullHistory ? Integer.MAX_VALUE
+                : latestPage ? Math.max(pageSize, messageCache.getRoomCapacity()) : pageSize;
+        List<ChatMessage> messages;
+        if (afterId != null) {
+            messages = chatMessageRepository.findPageAfter(chatRoomId, afterId, PageRequest.of(0, pageSize));
+        } else {
+            messages = new ArrayList<>(chatMessageRepository.findPageBefore(chatRoomId,
+                    beforeId != null ? beforeId : Long.MAX_VALUE,
+                    fullHistory ? Pageable.unpaged() : PageRequest.of(0, loadSize)));
+            Collections.reverse(messages);
+        }
+
+        // 리액션 집계 일괄 조회 (이번 페이지 메시지만, 이모지별 인원 수)
+        Map<Long, List<ReactionSummaryResponse>> reactionCounts = reactionService.loadCounts(ChatReactionService.SOURCE_DM,
+                messages.stream().map(ChatMessage::getId).collect(Collectors.toList()));
+
+        List<ChatMessageResponse> neutral = messages.stream()
                 .map(msg -> {
-                    ChatMessageResponse resp = toMessageResponse(msg, userId);
-                    resp.setReactions(reactionsMap.getOrDefault(msg.getId(), java.util.Collections.emptyList()));
+                    ChatMessageResponse resp = toCachedMessage(msg);
+                    resp.setReactions(reactionCounts.getOrDefault(msg.getId(), Collections.emptyList()));
                     return resp;
                 })
                 .collect(Collectors.toList());
+        if (seedCache) {
+            messageCache.seed(chatRoomId, cacheVersion, neutral, messages.size() < loadSize);
+        }
+        if (latestPage && !fullHistory) {
+            neutral = neutral.subList(Math.max(0, neutral.size() - pageSize), neutral.size());
+        }
+        return forViewer(neutral, userId, room);
     }
 
     // 메시지 삭제 (카카오톡 스타일)
@@ -194,7 +401,8 @@ public class ChatService {
             throw new RuntimeException("자신이 보낸 메시지만 삭제할 수 있습니다.");
         }
 
-        if (!Boolean.TRUE.equals(message.getIsRead())) {
+        ChatRoom room = message.getChatRoom();
+        if (!isReadByRecipient(message, room)) {
             // 상대방이 아직 읽지 않음 → 완전히 삭제 처리 (양쪽에서 안 보임)
             message.setCompletelyDeleted(true);
         } else {
@@ -203,6 +411,81 @@ public class ChatService {
         }
 
         chatMessageRepository.save(message);
+        chatMessageRepository.updateEventSeq(messageId, sequenceService.nextDmSeq(room.getId()));
+        Long changedRoomId = room.getId();
+        invalidateCacheOnCommit(changedRoomId);
+    }
+
+    // 리액션 토글: 집계 반영 + 이벤트 순번 기록, 커밋 이후 채팅방에 REACTION_DELTA 브로드캐스트
+    @Transactional
+    public Map<String, Object> toggleReaction(Long messageId, String userId, String emoji) {
+        ChatMessage message = chatMessageRepository.findById(messageId)
+                .orElseThrow(() -> new RuntimeException("메시지를 찾을 수 없습니다."));
+        ChatRoom room = message.getChatRoom();
+        if (!room.getUser1().getUserId().equals(userId) && !room.getUser2().getUserId().equals(userId)) {
+            throw new RuntimeException("이 채팅방의 멤버가 아닙니다.");
+        }
+        User user = room.getUser1().getUserId().equals(userId) ? room.getUser1() : room.getUser2();
+
+        ChatReactionService.Toggle toggle = reactionService.toggle(ChatReactionService.SOURCE_DM, messageId,
+                userId, user.getName(), emoji);
+        long seq = sequenceService.nextDmSeq(room.getId());
+        chatMessageRepository.updateEventSeq(messageId, seq);
+
+        Long roomId = room.getId();
+        invalidateCacheOnCommit(roomId);
+        chatFanoutService.publishAfterCommit(ChatFanoutService.Task.builder()
+                .destination("/topic/chat/" + roomId)
+                .payload(ChatReactionService.toDelta(roomId, messageId, seq, userId, emoji, toggle))
+                .build());
+        return Map.of("action", toggle.action(), "count", toggle.count());
+    }
+
+    // 재접속 동기화: sinceSeq 이후 바뀐 메시지를 이벤트 순으로 (메시지당 최신 상태 하나)
+    @Transactional(readOnly = true)
+    public ChatSyncResponse sync(Long chatRoomId, String userId, Long sinceSeq, Integer limit) {
+        ChatRoom room = chatRoomRepository.findById(chatRoomId)
+                .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다"));
+        if (!room.getUser1().getUserId().equals(userId) && !room.getUser2().getUserId().equals(userId)) {
+            throw new RuntimeException("이 채팅방의 멤버가 아닙니다.");
+        }
+        long since = sinceSeq != null ? Math.max(sinceSeq, 0L) : 0L;
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_SYNC_PAGE_SIZE : Math.min(limit, MAX_SYNC_PAGE_SIZE);
+        List<ChatMessage> changed = chatMessageRepository.findChangedSince(chatRoomId, since, PageRequest.of(0, pageSize));
+
+        List<Long> changedIds = changed.stream().map(ChatMessage::getId).collect(Collectors.toList());
+        Map<Long, List<ReactionSummaryResponse>> reactionCounts = reactionService.loadCounts(ChatReactionService.SOURCE_DM, changedIds);
+        Map<Long, java.util.Set<String>> mine = reactionService.loadMine(ChatReactionService.SOURCE_DM, userId,
+                changedIds.stream().filter(reactionCounts::containsKey).collect(Collectors.toList()));
+        List<ChatSyncResponse.Event> events = new ArrayList<>();
+        for (ChatMessage msg : changed) {
+            boolean isSender = msg.getSender().getUserId().equals(userId);
+            boolean hidden = Boolean.TRUE.equals(msg.getCompletelyDeleted())
+                    || (isSender && Boolean.TRUE.equals(msg.getDeletedBySender()));
+            ChatMessageResponse response = null;
+            if (!hidden) {
+                response = toMessageResponse(msg, userId, room);
+                response.setReactions(ChatReactionService.withMine(reactionCounts.get(msg.getId()), mine.get(msg.getId())));
+            }
+            events.add(ChatSyncResponse.Event.builder()
+                    .seq(msg.getEventSeq())
+                    .type(hidden ? "DELETE" : "UPSERT")
+                    .messageId(msg.getId())
+                    .message(response)
+                    .build());
+        }
+
+        return ChatSyncResponse.builder()
+                .roomId(chatRoomId)
+                .lastSeq(room.getLastSeq() != null ? room.getLastSeq() : 0L)
+                .nextSinceSeq(changed.isEmpty() ? since : changed.get(changed.size() - 1).getEventSeq())
+                .hasMore(changed.size() >= pageSize)
+                .events(events)
+                .build();
+    }
+
+    public Map<String, Object> getMessageCacheStats() {
+        return messageCache.getStats();
     }
 
     // 모든 채팅방 메시지 일괄 읽음 처리
@@ -211,10 +494,9 @@ public class ChatService {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
 
-        List<ChatRoom> myRooms = chatRoomRepository.findByUser(user);
-        if (!myRooms.isEmpty()) {
-            chatMessageRepository.markAllAsRead(myRooms, user);
-        }
+        // 방마다 워터마크 한 행씩만 갱신
+        chatRoomRepository.markAllReadAsUser1(user.getId());
+        chatRoomRepository.markAllReadAsUser2(user.getId());
     }
 
     // 채팅방 상대방 userId 조회
@@ -239,28 +521,159 @@ public class ChatService {
             throw new RuntimeException("이 채팅방의 멤버가 아닙니다.");
         }
 
-        // 메시지 먼저 삭제 후 채팅방 삭제
+        // 리액션 → 메시지 → 채팅방 순으로 삭제
+        reactionService.deleteForDmRoom(roomId);
         chatMessageRepository.deleteByChatRoom(room);
         chatRoomRepository.delete(room);
+        invalidateCacheOnCommit(roomId);
     }
 
-    private ChatMessageResponse toMessageResponse(ChatMessage msg, String currentUserId) {
+    // 방의 마지막 메시지까지 읽음 처리 (워터마크 한 행 UPDATE)
+    private void markRoomRead(ChatRoom room, User user) {
+        Long lastMessageId = chatMessageRepository.findLastMessageId(room.getId());
+        if (lastMessageId == null || lastMessageId <= lastReadIdOf(room, user)) {
+            return;
+        }
+        if (room.getUser1().getId().equals(user.getId())) {
+            chatRoomRepository.advanceUser1LastRead(room.getId(), lastMessageId);
+            room.setUser1LastReadMessageId(lastMessageId);
+        } else {
+            chatRoomRepository.advanceUser2LastRead(room.getId(), lastMessageId);
+            room.setUser2LastReadMessageId(lastMessageId);
+        }
+    }
+
+    // 사용자의 읽음 워터마크
+    private long lastReadIdOf(ChatRoom room, User user) {
+        Long lastRead = room.getUser1().getId().equals(user.getId())
+                ? room.getUser1LastReadMessageId() : room.getUser2LastReadMessageId();
+        return lastRead != null ? lastRead : 0L;
+    }
+
+    // 수신자(발신자가 아닌 참여자)의 워터마크 이하면 읽은 메시지
+    private boolean isReadByRecipient(ChatMessage msg, ChatRoom room) {
+        return isReadByRecipient(msg.getId(), msg.getSender().getUserId(), room);
+    }
+
+    private boolean isReadByRecipient(Long messageId, String senderUserId, ChatRoom room) {
+        Long lastRead = room.getUser1().getUserId().equals(senderUserId)
+                ? room.getUser2LastReadMessageId() : room.getUser1LastReadMessageId();
+        return lastRead != null && messageId <= lastRead;
+    }
+
+    private ChatMessageResponse toMessageResponse(ChatMessage msg, String currentUserId, ChatRoom room) {
         boolean isSender = msg.getSender().getUserId().equals(currentUserId);
         boolean deletedBySender = Boolean.TRUE.equals(msg.getDeletedBySender());
         return ChatMessageResponse.builder()
                 .id(msg.getId())
+                .seq(msg.getSeq())
                 .chatRoomId(msg.getChatRoom().getId())
                 .senderUserId(msg.getSender().getUserId())
                 .senderName(msg.getSender().getName())
                 .content(msg.getContent())
+                .clientMessageId(msg.getClientMessageId())
                 .messageType(msg.getMessageType())
                 .attachmentUrl(msg.getAttachmentUrl())
                 .fileName(msg.getFileName())
                 .fileSize(msg.getFileSize())
-                .isRead(Boolean.TRUE.equals(msg.getIsRead()))
+                .isRead(isReadByRecipient(msg, room))
                 .sentAt(msg.getSentAt())
                 .completelyDeleted(Boolean.TRUE.equals(msg.getCompletelyDeleted()))
                 .deletedBySender(isSender && deletedBySender)
                 .build();
     }
+
+    // 캐시용 응답: 읽음 여부는 비워 두고 발신자 삭제 표시는 원래 값 그대로
+    private ChatMessageResponse toCachedMessage(ChatMessage msg) {
+        return ChatMessageResponse.builder()
+                .id(msg.getId())
+                .seq(msg.getSeq())
+                .chatRoomId(msg.getChatRoom().getId())
+                .senderUserId(msg.getSender().getUserId())
+                .senderName(msg.getSender().getName())
+                .content(msg.getContent())
+                .clientMessageId(msg.getClientMessageId())
+                .messageType(msg.getMessageType())
+                .attachmentUrl(msg.getAttachmentUrl())
+                .fileName(msg.getFileName())
+                .fileSize(msg.getFileSize())
+                .sentAt(msg.getSentAt())
+                .completelyDeleted(Boolean.TRUE.equals(msg.getCompletelyDeleted()))
+                .deletedBySender(Boolean.TRUE.equals(msg.getDeletedBySender()))
+                .reactions(Collections.emptyList())
+                .build();
+    }
+
+    // 캐시 항목을 복사해 조회자 기준 값 채우기 (캐시 항목은 수정하지 않음)
+    // 본인 리액션은 리액션이 있는 메시지가 있을 때만 조회
+    private List<ChatMessageResponse> forViewer(List<ChatMessageResponse> page, String userId, ChatRoom room) {
+        List<Long> reactedIds = page.stream()
+                .filter(m -> m.getReactions() != null && !m.getReactions().isEmpty())
+                .map(ChatMessageResponse::getId)
+                .collect(Collectors.toList());
+        Map<Long, java.util.Set<String>> mine = reactionService.loadMine(ChatReactionService.SOURCE_DM, userId, reactedIds);
+        return page.stream().map(cached -> {
+            boolean isSender = cached.getSenderUserId().equals(userId);
+            return cached.toBuilder()
+                    .isRead(isReadByRecipient(cached.getId(), cached.getSenderUserId(), room))
+                    .deletedBySender(isSender && Boolean.TRUE.equals(cached.getDeletedBySender()))
+                    .reactions(ChatReactionService.withMine(cached.getReactions(), mine.get(cached.getId())))
+                    .build();
+        }).collect(Collectors.toList());
+    }
+
+    // 캐시 메모리 추정치 (문자열은 글자당 2바이트 + 객체 오버헤드)
+    private static int estimateSize(ChatMessageResponse msg) {
+        int chars = length(msg.getContent()) + length(msg.getSenderName()) + length(msg.getSenderUserId())
+                + length(msg.getAttachmentUrl()) + length(msg.getFileName());
+        int reactions = msg.getReactions() != null ? msg.getReactions().size() : 0;
+        return 256 + chars * 2 + reactions * 64;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    // 새 메시지: 이 인스턴스는 커밋 이후 캐시에 추가, 다른 인스턴스에는 같은 트랜잭션 안에서 메시지를 알림
+    // (NOTIFY 는 커밋 시 커밋 순서대로 전달, payload 상한을 넘으면 무효화로 대신)
+    private void appendCacheOnCommit(Long roomId, ChatMessageResponse cached) {
+        if (clusterEventBus.isEnabled()) {
+            ObjectNode event = clusterEventBus.newEvent();
+            event.put("roomId", roomId);
+            event.set("message", objectMapper.valueToTree(cached));
+            if (!clusterEventBus.publish(CACHE_CLUSTER_CHANNEL, event)) {
+                publishCacheInvalidation(roomId);
+            }
+        }
+        afterCommit(() -> messageCache.append(roomId, cached));
+    }
+
+    // 삭제/리액션 등: 이 인스턴스는 커밋 이후 무효화, 다른 인스턴스에는 같은 트랜잭션 안에서 알림
+    private void invalidateCacheOnCommit(Long roomId) {
+        publishCacheInvalidation(roomId);
+        afterCommit(() -> messageCache.invalidate(roomId));
+    }
+
+    private void publishCacheInvalidation(Long roomId) {
+        if (!clusterEventBus.isEnabled()) {
+            return;
+        }
+        ObjectNode event = clusterEventBus.newEvent();
+        event.put("roomId", roomId);
+        clusterEventBus.publish(CACHE_CLUSTER_CHANNEL, event);
+    }
+
+    // 커밋 이후 실행 (트랜잭션 밖이면 바로 실행)
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package com.ourclass.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 인스턴스 간 이벤트 전달 (PostgreSQL LISTEN/NOTIFY).
+ * 타이핑 상태처럼 각 노드 메모리에 있는 상태를 다른 노드에 복제할 때 사용.
+ * 트랜잭션 안에서 publish 하면 커밋될 때 전달되고(롤백 시 버려짐), 수신 측에는 커밋 순서대로 도착한다.
+ * 수신 커넥션이 끊긴 동안의 이벤트는 유실되므로 (재)연결마다 onConnect 콜백으로 알린다.
+ * chat.cluster.enabled=false (기본, 단일 인스턴스)면 아무것도 보내지 않음.
+ */
+@Service
+@Slf4j
+public class ClusterEventBus {
+
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+    // NOTIFY payload 상한 (PostgreSQL 기본 8000바이트 미만)
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    // 자신이 보낸 이벤트를 구분하기 위한 노드 ID
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<JsonNode>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> connectListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = false;
+    private Thread listener;
+
+    public ClusterEventBus(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                           @Value("${chat.cluster.enabled:false}") boolean enabled,
+                           @Value("${spring.datasource.url}") String url,
+                           @Value("${spring.datasource.username}") String username,
+                           @Value("${spring.datasource.password}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 채널 구독 (다른 노드가 보낸 이벤트만 전달)
+    public void subscribe(String channel, Consumer<JsonNode> handler) {
+        handlers.put(channel, handler);
+    }
+
+    // LISTEN 직후(최초 연결 및 재연결마다), 첫 알림을 처리하기 전에 호출 (그 사이 놓친 이벤트 보정용)
+    public void onConnect(Runnable listener) {
+        connectListeners.add(listener);
+    }
+
+    // 전송 (비활성이면 무시), payload 가 상한을 넘으면 보내지 않고 false
+    public boolean publish(String channel, ObjectNode event) {
+        if (!enabled) {
+            return true;
+        }
+        try {
+            event.put("nodeId", nodeId);
+            String payload = objectMapper.writeValueAsString(event);
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                return false;
+            }
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+            return true;
+        } catch (Exception e) {
+            log.warn("클러스터 이벤트 전송 실패 ({}): {}", channel, e.getMessage());
+            return false;
+        }
+    }
+
+    public ObjectNode newEvent() {
+        return objectMapper.createObjectNode();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "cluster-event-listener");
+        listener.setDaemon(true);
+        listener.start();
+        log.info("클러스터 이벤트 수신 시작: node={}, channels={}", nodeId, handlers.keySet());
+    }
+
+    // 전용 커넥션으로 LISTEN 후 알림 대기, 끊기면 재연결
+    private void listenLoop() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        stmt.execute("LISTEN " + channel);
+                    }
+                }
+                for (Runnable connectListener : connectListeners) {
+                    connectListener.run();
+                }
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getName(), notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("클러스터 이벤트 수신 오류, 재연결 대기: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        Consumer<JsonNode> handler = handlers.get(channel);
+        if (handler == null) {
+            return;
+        }
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            if (nodeId.equals(event.path("nodeId").asText())) {
+                return;
+            }
+            handler.accept(event);
+        } catch (Exception e) {
+            log.warn("클러스터 이벤트 처리 실패 ({}): {}", channel, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+}
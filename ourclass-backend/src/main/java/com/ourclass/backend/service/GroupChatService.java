@@ -1,24 +1,37 @@
 package com.ourclass.backend.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.ourclass.backend.dto.GroupChatMessageResponse;
-import com.ourclass.backend.dto.ReactionResponse;
-import com.ourclass.backend.entity.ChatMessageReaction;
-import com.ourclass.backend.repository.ChatMessageReactionRepository;
+import com.ourclass.backend.dto.ReactionSummaryResponse;
+import com.ourclass.backend.dto.ChatSyncResponse;
 import com.ourclass.backend.dto.GroupChatRoomResponse;
 import com.ourclass.backend.entity.GroupChatMember;
 import com.ourclass.backend.entity.GroupChatMessage;
 import com.ourclass.backend.entity.GroupChatRoom;
 import com.ourclass.backend.entity.User;
 import com.ourclass.backend.repository.*;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class GroupChatService {
 
     @Autowired
@@ -37,7 +50,85 @@ public class GroupChatService {
     private NotificationService notificationService;
 
     @Autowired
-    private ChatMessageReactionRepository reactionRepository;
+    private ChatReactionService reactionService;
+
+    @Autowired
+    private ChatSendDeduplicator sendDeduplicator;
+
+    @Autowired
+    private ChatFanoutService chatFanoutService;
+
+    @Autowired
+    private ChatSequenceService sequenceService;
+
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 다른 인스턴스의 메시지 캐시 추가/무효화 채널
+    private static final String CACHE_CLUSTER_CHANNEL = "chat_group_cache";
+
+    // 메시지 페이지 크기 (limit 미지정 시 / 최대)
+    private static final int DEFAULT_MESSAGE_PAGE_SIZE = 50;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 200;
+
+    // sync 한 번에 돌려줄 최대 이벤트 수 (기본 / 최대)
+    private static final int DEFAULT_SYNC_PAGE_SIZE = 200;
+    private static final int MAX_SYNC_PAGE_SIZE = 1000;
+
+    @Value("${chat.message-cache.room-capacity:50}")
+    private int messageCacheRoomCapacity;
+
+    @Value("${chat.message-cache.max-bytes:33554432}")
+    private long messageCacheMaxBytes;
+
+    @Value("${chat.message-cache.max-rooms:20000}")
+    private int messageCacheMaxRooms;
+
+    @Value("${chat.message-cache.max-age-ms:60000}")
+    private long messageCacheMaxAgeMs;
+
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    // 다중 인스턴스(relay)인데 클러스터 이벤트 버스가 꺼져 있으면 캐시를 쓰지 않음 (다른 인스턴스의 쓰기를 알 수 없음)
+    private boolean messageCacheEnabled;
+
+    // 활성 채팅방의 최근 메시지 (안 읽은 인원은 조회 시 계산, 내 채팅방에서만 삭제한 사용자 목록을 함께 보관)
+    private RoomMessageCache<CachedMessage> messageCache;
+
+    private record CachedMessage(GroupChatMessageResponse response, Set<String> deletedByUserIds) {
+    }
+
+    @PostConstruct
+    public void initMessageCache() {
+        messageCache = new RoomMessageCache<>("GROUP", messageCacheRoomCapacity, messageCacheMaxBytes,
+                messageCacheMaxRooms, messageCacheMaxAgeMs, m -> m.response().getId(),
+                m -> m.response().getSeq() != null ? m.response().getSeq() : -1L, GroupChatService::estimateSize);
+        messageCacheEnabled = !"relay".equalsIgnoreCase(brokerMode) || clusterEventBus.isEnabled();
+        clusterEventBus.subscribe(CACHE_CLUSTER_CHANNEL, this::applyRemoteCacheEvent);
+        // 수신이 끊긴 동안 놓친 이벤트가 있을 수 있으므로 (재)연결마다 전체 무효화
+        clusterEventBus.onConnect(messageCache::invalidateAll);
+    }
+
+    // 다른 인스턴스의 전송은 뒤에 추가 (순번이 이어질 때만 반영됨), 그 외 변경은 무효화
+    private void applyRemoteCacheEvent(JsonNode event) {
+        Long roomId = event.path("roomId").asLong();
+        if (event.hasNonNull("message")) {
+            try {
+                GroupChatMessageResponse response = objectMapper.treeToValue(event.get("message"), GroupChatMessageResponse.class);
+                Set<String> deletedBy = new java.util.HashSet<>();
+                event.path("deletedByUserIds").forEach(id -> deletedBy.add(id.asText()));
+                messageCache.append(roomId, new CachedMessage(response, Set.copyOf(deletedBy)));
+                return;
+            } catch (Exception e) {
+                log.warn("캐시 이벤트 처리 실패: {}", e.getMessage());
+            }
+        }
+        messageCache.invalidate(roomId);
+    }
 
     // 그룹 채팅방 생성
     @Transactional
@@ -86,8 +177,15 @@ public class GroupChatService {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        return roomRepository.findByUser(user).stream()
-                .map(room -> toRoomResponse(room, userId))
+        // 방 목록 1회 + 전체 멤버(사용자 포함) 1회 조회, 안 읽은 수는 멤버 행에 유지된 값 사용
+        List<GroupChatRoom> rooms = roomRepository.findByUser(user);
+        if (rooms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        java.util.Map<Long, List<GroupChatMember>> membersByRoom = memberRepository.findWithUserByRoomIn(rooms).stream()
+                .collect(Collectors.groupingBy(m -> m.getRoom().getId()));
+        return rooms.stream()
+                .map(room -> toRoomResponse(room, userId, membersByRoom.getOrDefault(room.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
@@ -101,6 +199,22 @@ public class GroupChatService {
     @Transactional
     public GroupChatMessageResponse sendMessage(Long roomId, String senderUserId, String content,
                                                  String messageType, String attachmentUrl, String fileName, Long fileSize) {
+        return sendMessage(roomId, senderUserId, content, messageType, attachmentUrl, fileName, fileSize, null);
+    }
+
+    // 메시지 보내기 (clientMessageId 가 있으면 재시도 시 원래 메시지를 그대로 반환, 알림 없음)
+    @Transactional
+    public GroupChatMessageResponse sendMessage(Long roomId, String senderUserId, String content,
+                                                 String messageType, String attachmentUrl, String fileName, Long fileSize,
+                                                 String clientMessageId) {
+        String clientId = ChatSendDeduplicator.normalize(clientMessageId);
+        if (clientId != null) {
+            GroupChatMessageResponse existing = findSentMessage(senderUserId, clientId);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
         GroupChatRoom room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
         User sender = userRepository.findByUserId(senderUserId)
@@ -112,16 +226,23 @@ public class GroupChatService {
 
         String type = (messageType != null && !messageType.isEmpty()) ? messageType : "CHAT";
 
+        long seq = sequenceService.nextGroupSeq(roomId);
         GroupChatMessage message = GroupChatMessage.builder()
                 .room(room)
                 .sender(sender)
+                .seq(seq)
+                .eventSeq(seq)
                 .content(content)
+                .clientMessageId(clientId)
                 .messageType(type)
                 .attachmentUrl(attachmentUrl)
                 .fileName(fileName)
                 .fileSize(fileSize)
                 .build();
         messageRepository.save(message);
+        if (clientId != null) {
+            afterCommit(() -> sendDeduplicator.remember(ChatSendDeduplicator.SCOPE_GROUP, senderUserId, clientId, message.getId()));
+        }
 
         String lastMsg;
         if ("IMAGE".equals(type)) {
@@ -135,32 +256,57 @@ public class GroupChatService {
         room.setLastMessageAt(LocalDateTime.now());
         roomRepository.save(room);
 
-        // 보낸 사람 읽음 처리
+        // 다른 멤버 안 읽은 수 +1, 보낸 사람 읽음 처리 (같은 방 전송은 nextGroupSeq 의 방 행 잠금으로 직렬화됨)
+        memberRepository.incrementUnread(roomId, sender.getId());
         GroupChatMember senderMember = memberRepository.findByRoomAndUser(room, sender).orElse(null);
         if (senderMember != null) {
-            senderMember.setLastReadMessageId(message.getId());
-            memberRepository.save(senderMember);
+            memberRepository.advanceLastRead(senderMember.getId(), message.getId());
         }
 
         // 다른 멤버들에게 알림
         String notifMsg = "IMAGE".equals(type) ? sender.getName() + "님이 사진을 보냈습니다"
                          : "FILE".equals(type) ? sender.getName() + "님이 파일을 보냈습니다"
                          : sender.getName() + "님이 메시지를 보냈습니다";
-        List<GroupChatMember> members = memberRepository.findByRoom(room);
-        for (GroupChatMember member : members) {
-            if (!member.getUser().getUserId().equals(senderUserId)) {
-                notificationService.createAndSend(
-                        member.getUser().getUserId(),
-                        senderUserId,
-                        sender.getName(),
-                        "GROUP_CHAT",
-                        "[" + room.getName() + "] " + notifMsg,
-                        roomId
-                );
-            }
-        }
+        List<String> recipientIds = memberRepository.findUserIdsByRoomId(roomId).stream()
+                .filter(memberId -> !memberId.equals(senderUserId))
+                .collect(Collectors.toList());
+        notificationService.createAndSendBulk(recipientIds, senderUserId, sender.getName(),
+                "GROUP_CHAT", "[" + room.getName() + "] " + notifMsg, roomId, null);
+
+        cacheAfterCommit(message);
+        GroupChatMessageResponse response = toMessageResponse(message, room);
+
+        // 채팅방 브로드캐스트와 다른 멤버 뱃지(하단 탭 N뱃지)는 커밋 이후 비동기 처리
+        boolean isReunion = room.getName() != null && room.getName().startsWith("[찐모임]");
+        chatFanoutService.publishAfterCommit(ChatFanoutService.Task.builder()
+                .destination("/topic/group-chat/" + roomId)
+                .payload(response)
+                .badgeUserIds(recipientIds)
+                .badgeTopic(isReunion ? "/reunion-notify" : "/chat-notify")
+                .badgePayload(java.util.Map.of("type", "NEW_MESSAGE", "roomId", roomId, "source", isReunion ? "REUNION" : "GROUP"))
+                .build());
+
+        return response;
+    }
 
-        return toMessageResponse(message, room);
+    // 같은 clientMessageId 로 이미 저장된 메시지 (최근 전송은 메모리 캐시, 그 외에는 고유 제약 컬럼 조회)
+    @Transactional(readOnly = true)
+    public GroupChatMessageResponse findSentMessage(String senderUserId, String clientMessageId) {
+        String clientId = ChatSendDeduplicator.normalize(clientMessageId);
+        if (clientId == null) {
+            return null;
+        }
+        Long messageId = sendDeduplicator.find(ChatSendDeduplicator.SCOPE_GROUP, senderUserId, clientId);
+        GroupChatMessage message = messageId != null
+                ? messageRepository.findById(messageId).orElse(null)
+                : messageRepository.findByClientMessageId(senderUserId, clientId).orElse(null);
+        if (message == null) {
+            return null;
+        }
+        if (messageId == null) {
+            sendDeduplicator.remember(ChatSendDeduplicator.SCOPE_GROUP, senderUserId, clientId, message.getId());
+        }
+        return toMessageResponse(message, message.getRoom());
     }
 
     // 메시지 목록 조회 + 읽음 처리
@@ -170,45 +316,108 @@ public class GroupChatService {
     }
 
     public List<GroupChatMessageResponse> getMessages(Long roomId, String userId, boolean markRead) {
+        return getMessages(roomId, userId, markRead, null, null, null);
+    }
+
+    // 메시지 페이지: before = 이전 메시지 더 보기, after = 새 메시지만, 둘 다 없으면 최신 페이지 (항상 오래된 순)
+    // 최신 페이지/새 메시지 조회는 캐시에 있으면 메시지 테이블을 읽지 않음
+    @Transactional
+    public List<GroupChatMessageResponse> getMessages(Long roomId, String userId, boolean markRead,
+                                                      Long beforeId, Long afterId, Integer limit) {
         GroupChatRoom room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        List<GroupChatMessage> messages = messageRepository.findByRoomOrderBySentAtAsc(room);
+        List<GroupChatMember> members = memberRepository.findByRoom(room);
 
         // 마지막 메시지 ID로 읽음 처리 (markRead=true일 때만)
-        if (markRead && !messages.isEmpty()) {
-            Long lastMsgId = messages.get(messages.size() - 1).getId();
-            GroupChatMember member = memberRepository.findByRoomAndUser(room, user).orElse(null);
-            if (member != null && (member.getLastReadMessageId() == null || member.getLastReadMessageId() < lastMsgId)) {
+        if (markRead) {
+            Long lastMsgId = messageRepository.findLastMessageId(roomId);
+            GroupChatMember member = members.stream()
+                    .filter(m -> m.getUser().getId().equals(user.getId()))
+                    .findFirst().orElse(null);
+            if (lastMsgId != null && member != null
+                    && (member.getLastReadMessageId() == null || member.getLastReadMessageId() < lastMsgId)) {
+                memberRepository.lockMember(member.getId());
+                memberRepository.advanceLastRead(member.getId(), lastMsgId);
                 member.setLastReadMessageId(lastMsgId);
-                memberRepository.save(member);
             }
         }
 
-        List<GroupChatMessage> filtered = messages.stream()
-                .filter(msg -> !msg.getCompletelyDeleted() && !msg.getDeletedByUserIds().contains(userId))
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_MESSAGE_PAGE_SIZE : Math.min(limit, MAX_MESSAGE_PAGE_SIZE);
+        boolean latestPage = beforeId == null && afterId == null;
+        // 페이징 파라미터가 하나도 없으면 기존처럼 전체 기록
+        boolean fullHistory = latestPage && limit == null;
+        List<CachedMessage> page = null;
+        if (messageCacheEnabled && !fullHistory && beforeId == null && pageSize <= messageCache.getRoomCapacity()) {
+            page = afterId != null
+                    ? messageCache.after(roomId, afterId, pageSize)
+                    : messageCache.latest(roomId, pageSize);
+        }
+        if (page == null) {
+            page = loadPage(roomId, beforeId, afterId, fullHistory ? null : pageSize, latestPage);
+        }
+
+        List<CachedMessage> visible = page.stream()
+                .filter(m -> !m.deletedByUserIds().contains(userId))
+                .collect(Collectors.toList());
+        // 본인 리액션은 리액션이 있는 메시지가 있을 때만 조회
+        java.util.Map<Long, Set<String>> mine = reactionService.loadMine(ChatReactionService.SOURCE_GROUP, userId,
+                visible.stream()
+                        .filter(m -> !m.response().getReactions().isEmpty())
+                        .map(m -> m.response().getId())
+                        .collect(Collectors.toList()));
+        ReadWatermarks watermarks = watermarksOf(members);
+        return visible.stream()
+                .map(m -> m.response().toBuilder()
+                        .unreadCount(watermarks.unreadBy(m.response().getId()))
+                        .reactions(ChatReactionService.withMine(m.response().getReactions(), mine.get(m.response().getId())))
+                        .build())
                 .collect(Collectors.toList());
+    }
 
-        // 리액션 일괄 조회
-        List<Long> msgIds = filtered.stream().map(GroupChatMessage::getId).collect(Collectors.toList());
-        java.util.Map<Long, List<ReactionResponse>> reactionsMap = new java.util.HashMap<>();
-        if (!msgIds.isEmpty()) {
-            List<ChatMessageReaction> allReactions = reactionRepository.findByMessageIdInAndMessageSource(msgIds, "GROUP");
-            for (ChatMessageReaction r : allReactions) {
-                reactionsMap.computeIfAbsent(r.getMessageId(), k -> new java.util.ArrayList<>())
-                        .add(ReactionResponse.builder().emoji(r.getEmoji()).userId(r.getUserId()).userName(r.getUserName()).build());
-            }
+    // DB에서 한 페이지 읽기 (pageSize=null 이면 전체, 최신 페이지는 캐시를 채울 수 있도록 버퍼 크기만큼 읽음)
+    private List<CachedMessage> loadPage(Long roomId, Long beforeId, Long afterId, Integer pageSize, boolean latestPage) {
+        boolean seedCache = latestPage && messageCacheEnabled;
+        long cacheVersion = seedCache ? messageCache.beginLoad(roomId) : 0L;
+        int loadSize = pageSize == null ? Integer.MAX_VALUE
+                : latestPage ? Math.max(pageSize, messageCache.getRoomCapacity()) : pageSize;
+        List<GroupChatMessage> messages;
+        if (afterId != null) {
+            messages = messageRepository.findPageAfter(roomId, afterId, PageRequest.of(0, pageSize));
+        } else {
+            messages = new ArrayList<>(messageRepository.findPageBefore(roomId,
+                    beforeId != null ? beforeId : Long.MAX_VALUE,
+                    pageSize == null ? Pageable.unpaged() : PageRequest.of(0, loadSize)));
+            Collections.reverse(messages);
         }
 
-        return filtered.stream()
+        // 리액션 집계 일괄 조회 (이번 페이지 메시지만, 이모지별 인원 수)
+        java.util.Map<Long, List<ReactionSummaryResponse>> reactionCounts = reactionService.loadCounts(
+                ChatReactionService.SOURCE_GROUP, messages.stream().map(GroupChatMessage::getId).collect(Collectors.toList()));
+
+        List<CachedMessage> page = messages.stream()
                 .map(msg -> {
-                    GroupChatMessageResponse resp = toMessageResponse(msg, room);
-                    resp.setReactions(reactionsMap.getOrDefault(msg.getId(), java.util.Collections.emptyList()));
-                    return resp;
+                    CachedMessage cached = toCachedMessage(msg);
+                    cached.response().setReactions(reactionCounts.getOrDefault(msg.getId(), Collections.emptyList()));
+                    return cached;
                 })
                 .collect(Collectors.toList());
+        if (seedCache) {
+            messageCache.seed(roomId, cacheVersion, page, messages.size() < loadSize);
+        }
+        if (latestPage && pageSize != null) {
+            page = page.subList(Math.max(0, page.size() - pageSize), page.size());
+        }
+        return page;
+    }
+
+    // 이미 읽어 둔 멤버 목록의 읽음 워터마크
+    private static ReadWatermarks watermarksOf(List<GroupChatMember> members) {
+        return ReadWatermarks.of(members.stream()
+                .map(GroupChatMember::getLastReadMessageId)
+                .collect(Collectors.toList()));
     }
 
     // 멤버 초대
@@ -225,11 +434,15 @@ public class GroupChatService {
             throw new RuntimeException("이미 멤버입니다.");
         }
 
+        // 동시 전송의 증가분과 아래 재계산이 겹치지 않도록 방 행을 먼저 잠금 (전송과 같은 순서: 방 -> 멤버)
+        sequenceService.lockGroupRoom(room.getId());
         GroupChatMember member = GroupChatMember.builder()
                 .room(room)
                 .user(newMember)
                 .build();
         memberRepository.save(member);
+        // 워터마크가 0이라 기존 메시지가 모두 안 읽은 메시지
+        memberRepository.recountUnread(member.getId());
 
         // 시스템 메시지
         return createSystemMessage(room, inviter,
@@ -291,9 +504,9 @@ public class GroupChatService {
     public GroupChatMessage getLastSystemMessage(Long roomId) {
         GroupChatRoom room = roomRepository.findById(roomId).orElse(null);
         if (room == null) return null;
-        List<GroupChatMessage> messages = messageRepository.findByRoomOrderBySentAtAsc(room);
+        List<GroupChatMessage> messages = messageRepository.findPageBefore(roomId, Long.MAX_VALUE, PageRequest.of(0, 1));
         if (messages.isEmpty()) return null;
-        GroupChatMessage last = messages.get(messages.size() - 1);
+        GroupChatMessage last = messages.get(0);
         return "SYSTEM".equals(last.getMessageType()) ? last : null;
     }
 
@@ -309,6 +522,9 @@ public class GroupChatService {
             throw new RuntimeException("자신이 보낸 메시지만 삭제할 수 있습니다.");
         }
 
+        // 방 행을 먼저 잠가 전송과 같은 순서(방 -> 멤버)로 카운터 갱신
+        long seq = sequenceService.nextGroupSeq(room.getId());
+
         // 읽지 않은 사람이 있는지 확인
         int unreadCount = (int) memberRepository.countUnreadMembers(room, messageId);
 
@@ -316,11 +532,92 @@ public class GroupChatService {
             // 아직 안 읽은 사람이 있으면 완전히 삭제
             message.setCompletelyDeleted(true);
             messageRepository.save(message);
+            memberRepository.decrementUnread(room.getId(), message.getSender().getId(), messageId);
         } else {
             // 모두 읽었으면 내 채팅방에서만 삭제
             message.getDeletedByUserIds().add(userId);
             messageRepository.save(message);
         }
+        messageRepository.updateEventSeq(messageId, seq);
+        Long changedRoomId = room.getId();
+        invalidateCacheOnCommit(changedRoomId);
+    }
+
+    // 리액션 토글: 집계 반영 + 이벤트 순번 기록, 커밋 이후 채팅방에 REACTION_DELTA 브로드캐스트
+    @Transactional
+    public java.util.Map<String, Object> toggleReaction(Long messageId, String userId, String emoji) {
+        GroupChatMessage message = messageRepository.findById(messageId)
+                .orElseThrow(() -> new RuntimeException("메시지를 찾을 수 없습니다."));
+        GroupChatRoom room = message.getRoom();
+        User user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        if (!memberRepository.existsByRoomAndUser(room, user)) {
+            throw new RuntimeException("채팅방 멤버가 아닙니다.");
+        }
+
+        ChatReactionService.Toggle toggle = reactionService.toggle(ChatReactionService.SOURCE_GROUP, messageId,
+                userId, user.getName(), emoji);
+        long seq = sequenceService.nextGroupSeq(room.getId());
+        messageRepository.updateEventSeq(messageId, seq);
+
+        Long roomId = room.getId();
+        invalidateCacheOnCommit(roomId);
+        chatFanoutService.publishAfterCommit(ChatFanoutService.Task.builder()
+                .destination("/topic/group-chat/" + roomId)
+                .payload(ChatReactionService.toDelta(roomId, messageId, seq, userId, emoji, toggle))
+                .build());
+        return java.util.Map.of("action", toggle.action(), "count", toggle.count());
+    }
+
+    // 재접속 동기화: sinceSeq 이후 바뀐 메시지를 이벤트 순으로 (메시지당 최신 상태 하나)
+    @Transactional(readOnly = true)
+    public ChatSyncResponse sync(Long roomId, String userId, Long sinceSeq, Integer limit) {
+        GroupChatRoom room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
+        User user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        if (!memberRepository.existsByRoomAndUser(room, user)) {
+            throw new RuntimeException("채팅방 멤버가 아닙니다.");
+        }
+        long since = sinceSeq != null ? Math.max(sinceSeq, 0L) : 0L;
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_SYNC_PAGE_SIZE : Math.min(limit, MAX_SYNC_PAGE_SIZE);
+        List<GroupChatMessage> changed = messageRepository.findChangedSince(roomId, since, PageRequest.of(0, pageSize));
+
+        ReadWatermarks watermarks = ReadWatermarks.of(memberRepository.findLastReadMessageIds(roomId));
+        List<Long> changedIds = changed.stream().map(GroupChatMessage::getId).collect(Collectors.toList());
+        java.util.Map<Long, List<ReactionSummaryResponse>> reactionCounts = reactionService.loadCounts(
+                ChatReactionService.SOURCE_GROUP, changedIds);
+        java.util.Map<Long, Set<String>> mine = reactionService.loadMine(ChatReactionService.SOURCE_GROUP, userId,
+                changedIds.stream().filter(reactionCounts::containsKey).collect(Collectors.toList()));
+        List<ChatSyncResponse.Event> events = new ArrayList<>();
+        for (GroupChatMessage msg : changed) {
+            boolean hidden = Boolean.TRUE.equals(msg.getCompletelyDeleted()) || msg.getDeletedByUserIds().contains(userId);
+            GroupChatMessageResponse response = null;
+            if (!hidden) {
+                response = toCachedMessage(msg).response().toBuilder()
+                        .unreadCount(watermarks.unreadBy(msg.getId()))
+                        .reactions(ChatReactionService.withMine(reactionCounts.get(msg.getId()), mine.get(msg.getId())))
+                        .build();
+            }
+            events.add(ChatSyncResponse.Event.builder()
+                    .seq(msg.getEventSeq())
+                    .type(hidden ? "DELETE" : "UPSERT")
+                    .messageId(msg.getId())
+                    .message(response)
+                    .build());
+        }
+
+        return ChatSyncResponse.builder()
+                .roomId(roomId)
+                .lastSeq(room.getLastSeq() != null ? room.getLastSeq() : 0L)
+                .nextSinceSeq(changed.isEmpty() ? since : changed.get(changed.size() - 1).getEventSeq())
+                .hasMore(changed.size() >= pageSize)
+                .events(events)
+                .build();
+    }
+
+    public java.util.Map<String, Object> getMessageCacheStats() {
+        return messageCache.getStats();
     }
 
     public String getRoomName(Long roomId) {
@@ -337,26 +634,16 @@ public class GroupChatService {
     }
 
     private GroupChatRoomResponse toRoomResponse(GroupChatRoom room, String currentUserId) {
-        List<GroupChatMember> members = memberRepository.findByRoom(room);
+        return toRoomResponse(room, currentUserId, memberRepository.findByRoom(room));
+    }
 
-        // 안 읽은 메시지 수 계산
-        long unreadCount = 0;
-        GroupChatMember currentMember = members.stream()
+    private GroupChatRoomResponse toRoomResponse(GroupChatRoom room, String currentUserId, List<GroupChatMember> members) {
+        // 안 읽은 메시지 수 (전송/읽음 처리 시 멤버 행에 유지)
+        long unreadCount = members.stream()
                 .filter(m -> m.getUser().getUserId().equals(currentUserId))
-                .findFirst().orElse(null);
-        if (currentMember != null) {
-            Long lastRead = currentMember.getLastReadMessageId();
-            List<GroupChatMessage> allMsgs = messageRepository.findByRoomOrderBySentAtAsc(room);
-            if (lastRead == null) {
-                unreadCount = allMsgs.stream()
-                        .filter(m -> !m.getSender().getUserId().equals(currentUserId))
-                        .count();
-            } else {
-                unreadCount = allMsgs.stream()
-                        .filter(m -> m.getId() > lastRead && !m.getSender().getUserId().equals(currentUserId))
-                        .count();
-            }
-        }
+                .findFirst()
+                .map(m -> m.getUnreadCount() != null ? m.getUnreadCount().longValue() : 0L)
+                .orElse(0L);
 
         return GroupChatRoomResponse.builder()
                 .id(room.getId())
@@ -376,13 +663,19 @@ public class GroupChatService {
     }
 
     private GroupChatMessageResponse toMessageResponse(GroupChatMessage msg, GroupChatRoom room) {
-        int unreadCount = (int) memberRepository.countUnreadMembers(room, msg.getId());
+        return toMessageResponse(msg, ReadWatermarks.of(memberRepository.findLastReadMessageIds(room.getId())));
+    }
+
+    private GroupChatMessageResponse toMessageResponse(GroupChatMessage msg, ReadWatermarks watermarks) {
+        int unreadCount = watermarks.unreadBy(msg.getId());
         return GroupChatMessageResponse.builder()
                 .id(msg.getId())
+                .seq(msg.getSeq())
                 .roomId(msg.getRoom().getId())
                 .senderUserId(msg.getSender().getUserId())
                 .senderName(msg.getSender().getName())
                 .content(msg.getContent())
+                .clientMessageId(msg.getClientMessageId())
                 .messageType(msg.getMessageType())
                 .attachmentUrl(msg.getAttachmentUrl())
                 .fileName(msg.getFileName())
@@ -394,13 +687,18 @@ public class GroupChatService {
 
     // 시스템 메시지 생성 헬퍼
     private GroupChatMessage createSystemMessage(GroupChatRoom room, User actor, String content) {
+        long seq = sequenceService.nextGroupSeq(room.getId());
         GroupChatMessage message = GroupChatMessage.builder()
                 .room(room)
                 .sender(actor)
+                .seq(seq)
+                .eventSeq(seq)
                 .content(content)
                 .messageType("SYSTEM")
                 .build();
         messageRepository.save(message);
+        memberRepository.incrementUnread(room.getId(), actor.getId());
+        cacheAfterCommit(message);
 
         room.setLastMessage(content);
         room.setLastMessageAt(LocalDateTime.now());
@@ -412,4 +710,83 @@ public class GroupChatService {
     public GroupChatMessageResponse getSystemMessageResponse(GroupChatMessage msg) {
         return toMessageResponse(msg, msg.getRoom());
     }
+
+    // 캐시용 응답: 안 읽은 인원은 조회 시 계산
+    private CachedMessage toCachedMessage(GroupChatMessage msg) {
+        GroupChatMessageResponse response = GroupChatMessageResponse.builder()
+                .id(msg.getId())
+                .seq(msg.getSeq())
+                .roomId(msg.getRoom().getId())
+                .senderUserId(msg.getSender().getUserId())
+                .senderName(msg.getSender().getName())
+                .content(msg.getContent())
+                .clientMessageId(msg.getClientMessageId())
+                .messageType(msg.getMessageType())
+                .attachmentUrl(msg.getAttachmentUrl())
+                .fileName(msg.getFileName())
+                .fileSize(msg.getFileSize())
+                .sentAt(msg.getSentAt() != null ? msg.getSentAt().toString() : null)
+                .reactions(Collections.emptyList())
+                .build();
+        return new CachedMessage(response, Set.copyOf(msg.getDeletedByUserIds()));
+    }
+
+    // 새 메시지: 이 인스턴스는 커밋 이후 캐시에 추가, 다른 인스턴스에는 같은 트랜잭션 안에서 메시지를 알림
+    // (NOTIFY 는 커밋 시 커밋 순서대로 전달, payload 상한을 넘으면 무효화로 대신)
+    private void cacheAfterCommit(GroupChatMessage msg) {
+        CachedMessage cached = toCachedMessage(msg);
+        Long roomId = msg.getRoom().getId();
+        if (clusterEventBus.isEnabled()) {
+            ObjectNode event = clusterEventBus.newEvent();
+            event.put("roomId", roomId);
+            event.set("message", objectMapper.valueToTree(cached.response()));
+            event.set("deletedByUserIds", objectMapper.valueToTree(cached.deletedByUserIds()));
+            if (!clusterEventBus.publish(CACHE_CLUSTER_CHANNEL, event)) {
+                publishCacheInvalidation(roomId);
+            }
+        }
+        afterCommit(() -> messageCache.append(roomId, cached));
+    }
+
+    // 캐시 메모리 추정치 (문자열은 글자당 2바이트 + 객체 오버헤드)
+    private static int estimateSize(CachedMessage cached) {
+        GroupChatMessageResponse msg = cached.response();
+        int chars = length(msg.getContent()) + length(msg.getSenderName()) + length(msg.getSenderUserId())
+                + length(msg.getAttachmentUrl()) + length(msg.getFileName()) + length(msg.getSentAt());
+        int reactions = msg.getReactions() != null ? msg.getReactions().size() : 0;
+        return 256 + chars * 2 + reactions * 64 + cached.deletedByUserIds().size() * 64;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    // 삭제/리액션 등: 이 인스턴스는 커밋 이후 무효화, 다른 인스턴스에는 같은 트랜잭션 안에서 알림
+    private void invalidateCacheOnCommit(Long roomId) {
+        publishCacheInvalidation(roomId);
+        afterCommit(() -> messageCache.invalidate(roomId));
+    }
+
+    private void publishCacheInvalidation(Long roomId) {
+        if (!clusterEventBus.isEnabled()) {
+            return;
+        }
+        ObjectNode event = clusterEventBus.newEvent();
+        event.put("roomId", roomId);
+        clusterEventBus.publish(CACHE_CLUSTER_CHANNEL, event);
+    }
+
+    // 커밋 이후 실행 (트랜잭션 밖이면 바로 실행)
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.entity.User;
+import com.ourclass.backend.repository.PostLikeRepository;
+import com.ourclass.backend.repository.PostRepository;
+import com.ourclass.backend.repository.ReunionPostLikeRepository;
+import com.ourclass.backend.repository.ReunionPostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 게시글 / 모임 게시글 좋아요: INSERT ON CONFLICT / DELETE 결과로 토글을 결정하고 좋아요 수는 증감 UPDATE로 반영
+@Service
+@RequiredArgsConstructor
+public class LikeService {
+
+    private final PostLikeRepository postLikeRepository;
+    private final PostRepository postRepository;
+    private final ReunionPostLikeRepository reunionPostLikeRepository;
+    private final ReunionPostRepository reunionPostRepository;
+
+    // 좋아요 토글 - 토글 후 좋아요 상태 반환
+    @Transactional
+    public boolean togglePostLike(Long postId, User user) {
+        if (postLikeRepository.insertIfAbsent(postId, user.getId()) > 0) {
+            postRepository.addLikeCount(postId, 1);
+            return true;
+        }
+        if (postLikeRepository.deleteByPostIdAndUserId(postId, user.getId()) > 0) {
+            postRepository.addLikeCount(postId, -1);
+        }
+        return false;
+    }
+
+    @Transactional
+    public boolean toggleReunionPostLike(Long reunionPostId, User user) {
+        if (reunionPostLikeRepository.insertIfAbsent(reunionPostId, user.getId()) > 0) {
+            reunionPostRepository.addLikeCount(reunionPostId, 1);
+            return true;
+        }
+        if (reunionPostLikeRepository.deleteByReunionPostIdAndUserId(reunionPostId, user.getId()) > 0) {
+            reunionPostRepository.addLikeCount(reunionPostId, -1);
+        }
+        return false;
+    }
+
+    // 목록 내에서 사용자가 좋아요한 글 ID (IN 쿼리 1회)
+    public Set<Long> getLikedPostIds(User user, List<Long> postIds) {
+        if (user == null || postIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(postLikeRepository.findLikedPostIds(user, postIds));
+    }
+
+    public Set<Long> getLikedReunionPostIds(User user, List<Long> reunionPostIds) {
+        if (user == null || reunionPostIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(reunionPostLikeRepository.findLikedPostIds(user, reunionPostIds));
+    }
+}
@@ -1,18 +1,36 @@
 package com.ourclass.backend.service;
 
+import com.ourclass.backend.dto.NotificationDraft;
 import com.ourclass.backend.dto.NotificationResponse;
 import com.ourclass.backend.entity.Notification;
 import com.ourclass.backend.entity.User;
 import com.ourclass.backend.repository.NotificationRepository;
 import com.ourclass.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +41,22 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final NotificationUnreadCounterService unreadCounterService;
+
+    // 합칠 알림 종류와 시간 창 (연속 채팅 메시지)
+    @Value("${notification.coalesce.types:CHAT,GROUP_CHAT}")
+    private Set<String> coalesceTypes;
+
+    @Value("${notification.coalesce.window-ms:600000}")
+    private long coalesceWindowMs;
+
+    // 일괄 알림 WebSocket 푸시 전용 스레드 (요청/전송 트랜잭션 스레드에서 보내지 않음)
+    private final ExecutorService pushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "notification-push");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Transactional
     public void createAndSend(String recipientUserId, String senderUserId, String senderName,
@@ -50,6 +84,7 @@ public class NotificationService {
                 .build();
 
         Notification saved = notificationRepository.save(notification);
+        unreadCounterService.add(recipient.getId(), recipientUserId, 1);
         NotificationResponse response = toResponse(saved);
 
         // WebSocket으로 실시간 푸시
@@ -61,6 +96,260 @@ public class NotificationService {
         log.info("알림 전송: {} -> {} ({})", senderUserId, recipientUserId, type);
     }
 
+    // 같은 내용을 여러 수신자에게: 수신자 1회 조회 + JDBC 배치 저장, 푸시는 커밋 이후 비동기
+    @Transactional
+    public void createAndSendBulk(Collection<String> recipientUserIds, String senderUserId, String senderName,
+                                  String type, String content, Long referenceId, Long reunionId) {
+        createAndSendAll(recipientUserIds.stream()
+                .distinct()
+                .map(recipientUserId -> NotificationDraft.builder()
+                        .recipientUserId(recipientUserId)
+                        .senderUserId(senderUserId)
+                        .senderName(senderName)
+                        .type(type)
+                        .content(content)
+                        .referenceId(referenceId)
+                        .reunionId(reunionId)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    // 여러 알림을 한 트랜잭션으로 저장 (수신자 일괄 조회 + JDBC 배치 저장), 푸시는 커밋 이후 비동기
+    // 채팅 알림은 같은 (수신자, 종류, 대상)의 읽지 않은 최근 알림이 있으면 새로 만들지 않고 합침
+    @Transactional
+    public void createAndSendAll(List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        Map<String, Long> recipientIds = findRecipientIds(drafts.stream()
+                .map(NotificationDraft::getRecipientUserId)
+                .distinct()
+                .collect(Collectors.toList()));
+
+        // 같은 배치 안에서 먼저 합치기 (마지막 내용 유지, 개수 누적)
+        List<Pending> pending = new ArrayList<>();
+        Map<CoalesceKey, Pending> coalescible = new LinkedHashMap<>();
+        for (NotificationDraft draft : drafts) {
+            Long recipientId = recipientIds.get(draft.getRecipientUserId());
+            if (recipientId == null) {
+                log.warn("알림 수신자를 찾을 수 없습니다: {}", draft.getRecipientUserId());
+                continue;
+            }
+            if (draft.getReferenceId() == null || !coalesceTypes.contains(draft.getType())) {
+                pending.add(new Pending(recipientId, draft));
+                continue;
+            }
+            CoalesceKey key = new CoalesceKey(recipientId, draft.getType(), draft.getReferenceId());
+            Pending existing = coalescible.get(key);
+            if (existing == null) {
+                Pending merged = new Pending(recipientId, draft);
+                coalescible.put(key, merged);
+                pending.add(merged);
+            } else {
+                existing.draft = draft;
+                existing.count++;
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Pending> merged = mergeIntoRecent(coalescible, now);
+        List<Pending> inserts = pending.stream()
+                .filter(p -> !merged.contains(p))
+                .collect(Collectors.toList());
+        insertAll(inserts, now);
+        // 합쳐진 알림은 이미 읽지 않은 상태라 새로 저장한 것만 카운터 증가
+        unreadCounterService.addAll(inserts.stream()
+                .map(p -> new NotificationUnreadCounterService.Delta(p.recipientId, p.draft.getRecipientUserId(), 1))
+                .collect(Collectors.toList()));
+
+        List<Object> payloads = new ArrayList<>();
+        List<String> pushTargets = new ArrayList<>();
+        for (Pending p : inserts) {
+            payloads.add(toResponse(p, now));
+            pushTargets.add(p.draft.getRecipientUserId());
+        }
+        for (Pending p : merged) {
+            payloads.add(toCoalescedDelta(p, now));
+            pushTargets.add(p.draft.getRecipientUserId());
+        }
+        afterCommit(() -> pushExecutor.execute(() -> {
+            for (int i = 0; i < payloads.size(); i++) {
+                try {
+                    messagingTemplate.convertAndSend("/topic/notifications/" + pushTargets.get(i), payloads.get(i));
+                } catch (Exception e) {
+                    log.warn("알림 푸시 실패 ({}): {}", pushTargets.get(i), e.getMessage());
+                }
+            }
+        }));
+        log.debug("알림 일괄 전송: 새 알림 {}건, 합침 {}건", inserts.size(), merged.size());
+    }
+
+    // 저장 대기 알림 (합쳐진 개수 포함)
+    private static class Pending {
+        final Long recipientId;
+        NotificationDraft draft;
+        int count = 1;
+        int previousCount;
+        Long id;
+
+        Pending(Long recipientId, NotificationDraft draft) {
+            this.recipientId = recipientId;
+            this.draft = draft;
+        }
+    }
+
+    private record CoalesceKey(Long recipientId, String type, Long referenceId) {
+    }
+
+    // 시간 창 안의 읽지 않은 같은 알림에 합치기 (조회 1회 + 배치 UPDATE), 합쳐진 항목 반환
+    private List<Pending> mergeIntoRecent(Map<CoalesceKey, Pending> coalescible, LocalDateTime now) {
+        List<Pending> merged = new ArrayList<>();
+        if (coalescible.isEmpty()) {
+            return merged;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("recipientIds", coalescible.keySet().stream().map(CoalesceKey::recipientId).distinct().collect(Collectors.toList()))
+                .addValue("types", coalescible.keySet().stream().map(CoalesceKey::type).distinct().collect(Collectors.toList()))
+                .addValue("referenceIds", coalescible.keySet().stream().map(CoalesceKey::referenceId).distinct().collect(Collectors.toList()))
+                .addValue("since", Timestamp.valueOf(now.minusNanos(coalesceWindowMs * 1_000_000L)));
+        List<Pending> candidates = new ArrayList<>();
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        namedJdbcTemplate.query("SELECT DISTINCT ON (recipient_id, type, reference_id) id, recipient_id, type, reference_id, " +
+                        "COALESCE(coalesced_count, 1) AS coalesced_count FROM notifications " +
+                        "WHERE recipient_id IN (:recipientIds) AND type IN (:types) AND reference_id IN (:referenceIds) " +
+                        "AND is_read = false AND created_at >= :since " +
+                        "ORDER BY recipient_id, type, reference_id, id DESC",
+                params,
+                rs -> {
+                    Pending p = coalescible.get(new CoalesceKey(rs.getLong("recipient_id"), rs.getString("type"), rs.getLong("reference_id")));
+                    if (p == null) {
+                        return;
+                    }
+                    p.id = rs.getLong("id");
+                    candidates.add(p);
+                    rows.add(new MapSqlParameterSource()
+                            .addValue("id", p.id)
+                            .addValue("added", p.count)
+                            .addValue("senderUserId", p.draft.getSenderUserId())
+                            .addValue("senderName", p.draft.getSenderName())
+                            .addValue("content", p.draft.getContent())
+                            .addValue("createdAt", Timestamp.valueOf(now)));
+                    p.previousCount = rs.getInt("coalesced_count");
+                });
+        if (rows.isEmpty()) {
+            return merged;
+        }
+        // 목록 정렬이 최신 이벤트 기준이 되도록 created_at 도 갱신, 그 사이 읽음 처리된 알림은 새로 만듦
+        int[] updated = namedJdbcTemplate.batchUpdate("UPDATE notifications SET sender_user_id = :senderUserId, " +
+                        "sender_name = :senderName, content = :content, created_at = :createdAt, " +
+                        "coalesced_count = COALESCE(coalesced_count, 1) + :added WHERE id = :id AND is_read = false",
+                rows.toArray(new MapSqlParameterSource[0]));
+        for (int i = 0; i < candidates.size(); i++) {
+            Pending p = candidates.get(i);
+            if (updated[i] != 0) {
+                p.count += p.previousCount;
+                merged.add(p);
+            } else {
+                p.id = null;
+            }
+        }
+        return merged;
+    }
+
+    private void insertAll(List<Pending> inserts, LocalDateTime now) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        for (Pending p : inserts) {
+            NotificationDraft draft = p.draft;
+            rows.add(new MapSqlParameterSource()
+                    .addValue("recipientId", p.recipientId)
+                    .addValue("senderUserId", draft.getSenderUserId())
+                    .addValue("senderName", draft.getSenderName())
+                    .addValue("type", draft.getType())
+                    .addValue("content", draft.getContent())
+                    .addValue("referenceId", draft.getReferenceId())
+                    .addValue("reunionId", draft.getReunionId())
+                    .addValue("coalescedCount", p.count)
+                    .addValue("createdAt", Timestamp.valueOf(now)));
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.batchUpdate("INSERT INTO notifications " +
+                        "(recipient_id, sender_user_id, sender_name, type, content, reference_id, reunion_id, is_read, coalesced_count, created_at) " +
+                        "VALUES (:recipientId, :senderUserId, :senderName, :type, :content, :referenceId, :reunionId, false, :coalescedCount, :createdAt)",
+                rows.toArray(new MapSqlParameterSource[0]), keyHolder, new String[]{"id"});
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < inserts.size() && i < keys.size(); i++) {
+            Object id = keys.get(i).get("id");
+            inserts.get(i).id = id != null ? ((Number) id).longValue() : null;
+        }
+    }
+
+    private NotificationResponse toResponse(Pending p, LocalDateTime now) {
+        NotificationDraft draft = p.draft;
+        return NotificationResponse.builder()
+                .id(p.id)
+                .senderUserId(draft.getSenderUserId())
+                .senderName(draft.getSenderName())
+                .type(draft.getType())
+                .content(draft.getContent())
+                .referenceId(draft.getReferenceId())
+                .reunionId(draft.getReunionId())
+                .read(false)
+                .count(p.count)
+                .createdAt(now)
+                .build();
+    }
+
+    // 기존 알림에 합쳐졌을 때 보내는 변경분 (같은 id 항목을 갱신하도록)
+    private Map<String, Object> toCoalescedDelta(Pending p, LocalDateTime now) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("event", "NOTIFICATION_COALESCED");
+        delta.put("id", p.id);
+        delta.put("type", p.draft.getType());
+        delta.put("referenceId", p.draft.getReferenceId());
+        delta.put("senderUserId", p.draft.getSenderUserId());
+        delta.put("senderName", p.draft.getSenderName());
+        delta.put("content", p.draft.getContent());
+        delta.put("count", p.count);
+        delta.put("createdAt", now);
+        return delta;
+    }
+
+    // userId -> users.id (한 번의 IN 조회)
+    private Map<String, Long> findRecipientIds(List<String> userIds) {
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, user_id FROM users WHERE user_id IN (:userIds)",
+                new MapSqlParameterSource("userIds", userIds),
+                rs -> {
+                    ids.put(rs.getString("user_id"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    @PreDestroy
+    public void stopPush() {
+        pushExecutor.shutdown();
+    }
+
+    // 트랜잭션이 있으면 커밋 이후, 없으면 즉시 실행
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<NotificationResponse> getNotifications(String userId) {
         User user = userRepository.findByUserId(userId)
@@ -72,12 +361,9 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    // 뱃지 조회: 유지 중인 카운터 사용 (알림 테이블을 세지 않음)
     public long getUnreadCount(String userId) {
-        User user = userRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-
-        return notificationRepository.countByRecipientAndReadFalse(user);
+        return unreadCounterService.get(userId);
     }
 
     @Transactional
@@ -89,8 +375,10 @@ public class NotificationService {
             throw new RuntimeException("권한이 없습니다.");
         }
 
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        // 읽지 않은 상태에서 바뀐 경우에만 카운터 감소 (동시 요청에 중복 감소 방지)
+        if (notificationRepository.markAsReadIfUnread(notificationId) > 0) {
+            unreadCounterService.add(notification.getRecipient().getId(), userId, -1);
+        }
     }
 
     @Transactional
@@ -99,17 +387,15 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
         notificationRepository.markAllAsRead(user);
+        unreadCounterService.reset(user.getId(), userId);
     }
 
     @Transactional
     public void markAsReadByReference(String userId, String type, Long referenceId) {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-        List<Notification> notifications = notificationRepository.findByRecipientAndTypeAndReferenceIdAndReadFalse(user, type, referenceId);
-        for (Notification n : notifications) {
-            n.setRead(true);
-        }
-        notificationRepository.saveAll(notifications);
+        int changed = notificationRepository.markAsReadByReference(user, type, referenceId);
+        unreadCounterService.add(user.getId(), userId, -changed);
     }
 
     @Transactional
@@ -118,6 +404,7 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
         notificationRepository.deleteAllByRecipient(user);
+        unreadCounterService.reset(user.getId(), userId);
         log.info("전체 알림 삭제: {}", userId);
     }
 
@@ -131,6 +418,7 @@ public class NotificationService {
                 .referenceId(notification.getReferenceId())
                 .reunionId(notification.getReunionId())
                 .read(notification.isRead())
+                .count(notification.getCoalescedCount() != null ? notification.getCoalescedCount() : 1)
                 .createdAt(notification.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,160 @@
+package com.ourclass.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 읽지 않은 알림 수 (뱃지 조회용).
+ * - 저장: notification_unread_counters 테이블, 알림 변경과 같은 트랜잭션에서 증감
+ * - 조회: 메모리 캐시 (커밋 이후 해당 사용자 항목 제거, TTL 경과 시 카운터 행 1건 조회)
+ * - 보정: 주기적으로 notifications 테이블 기준으로 다시 계산 (누락/다른 경로의 변경 복구, 사용자별로 카운터 행을 잠근 뒤 계산)
+ */
+@Service
+@Slf4j
+public class NotificationUnreadCounterService {
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate reconcileTx;
+    private final long cacheTtlMs;
+
+    // userId -> 읽지 않은 알림 수
+    private final ConcurrentHashMap<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public NotificationUnreadCounterService(NamedParameterJdbcTemplate namedJdbcTemplate,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${notification.unread-counter.cache-ttl-ms:30000}") long cacheTtlMs) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.reconcileTx = new TransactionTemplate(transactionManager);
+        this.cacheTtlMs = cacheTtlMs;
+    }
+
+    private record CachedCount(long count, long loadedAt) {
+    }
+
+    // 증감 단위 (recipientId = users.id, userId = 로그인 ID)
+    public record Delta(Long recipientId, String userId, int amount) {
+    }
+
+    public long get(String userId) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cache.get(userId);
+        if (cached != null && now - cached.loadedAt() < cacheTtlMs) {
+            return cached.count();
+        }
+        List<Long> counts = namedJdbcTemplate.queryForList("SELECT COALESCE(c.unread_count, 0) FROM users u " +
+                        "LEFT JOIN notification_unread_counters c ON c.user_id = u.id WHERE u.user_id = :userId",
+                new MapSqlParameterSource("userId", userId), Long.class);
+        if (counts.isEmpty()) {
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
+        }
+        long count = counts.get(0);
+        cache.put(userId, new CachedCount(count, now));
+        return count;
+    }
+
+    public void add(Long recipientId, String userId, int amount) {
+        addAll(List.of(new Delta(recipientId, userId, amount)));
+    }
+
+    // 사용자별로 합쳐 한 번의 배치 UPSERT (0 미만으로 내려가지 않음)
+    // 행 잠금 순서가 배치마다 같도록 recipientId 순으로 정렬 (동시 배치끼리 교착 방지)
+    public void addAll(Collection<Delta> deltas) {
+        Map<Long, Integer> byRecipient = new TreeMap<>();
+        Map<Long, String> userIds = new LinkedHashMap<>();
+        for (Delta delta : deltas) {
+            if (delta.amount() != 0) {
+                byRecipient.merge(delta.recipientId(), delta.amount(), Integer::sum);
+                userIds.put(delta.recipientId(), delta.userId());
+            }
+        }
+        if (byRecipient.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] rows = byRecipient.entrySet().stream()
+                .map(e -> new MapSqlParameterSource()
+                        .addValue("userId", e.getKey())
+                        .addValue("amount", e.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+        namedJdbcTemplate.batchUpdate("INSERT INTO notification_unread_counters (user_id, unread_count) " +
+                "VALUES (:userId, GREATEST(:amount, 0)) ON CONFLICT (user_id) DO UPDATE " +
+                "SET unread_count = GREATEST(notification_unread_counters.unread_count + :amount, 0)", rows);
+        evictAfterCommit(userIds.values());
+    }
+
+    // 전체 읽음/전체 삭제
+    public void reset(Long recipientId, String userId) {
+        namedJdbcTemplate.update("INSERT INTO notification_unread_counters (user_id, unread_count) VALUES (:userId, 0) " +
+                        "ON CONFLICT (user_id) DO UPDATE SET unread_count = 0",
+                new MapSqlParameterSource("userId", recipientId));
+        evictAfterCommit(List.of(userId));
+    }
+
+    // notifications 테이블 기준으로 다시 계산, 달라진 사용자 수만 기록
+    // 어긋난 사용자만 골라 사용자마다 카운터 행을 잠근 뒤 다시 세므로, 보정 중 커밋된 증감을 덮어쓰지 않음
+    @Scheduled(fixedDelayString = "${notification.unread-counter.reconcile-interval-ms:3600000}",
+               initialDelayString = "${notification.unread-counter.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            List<Long> suspects = namedJdbcTemplate.queryForList("SELECT COALESCE(c.user_id, n.recipient_id) AS user_id " +
+                    "FROM notification_unread_counters c FULL JOIN (SELECT recipient_id, COUNT(*) AS cnt FROM notifications " +
+                    "WHERE is_read = false GROUP BY recipient_id) n ON n.recipient_id = c.user_id " +
+                    "WHERE COALESCE(c.unread_count, 0) <> COALESCE(n.cnt, 0) ORDER BY 1",
+                    new MapSqlParameterSource(), Long.class);
+            int corrected = 0;
+            for (Long recipientId : suspects) {
+                if (Boolean.TRUE.equals(reconcileTx.execute(status -> reconcileOne(recipientId)))) {
+                    corrected++;
+                }
+            }
+            cache.clear();
+            if (corrected > 0) {
+                log.info("읽지 않은 알림 카운터 보정: {}명", corrected);
+            }
+        } catch (Exception e) {
+            log.warn("읽지 않은 알림 카운터 보정 실패: {}", e.getMessage());
+        }
+    }
+
+    // 한 사용자: 카운터 행 잠금 -> (잠금 이후 시작하는 문장으로) 다시 세기 -> 다르면 갱신
+    private boolean reconcileOne(Long recipientId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", recipientId);
+        namedJdbcTemplate.update("INSERT INTO notification_unread_counters (user_id, unread_count) VALUES (:userId, 0) " +
+                "ON CONFLICT (user_id) DO NOTHING", params);
+        namedJdbcTemplate.queryForList("SELECT unread_count FROM notification_unread_counters WHERE user_id = :userId FOR UPDATE",
+                params, Long.class);
+        return namedJdbcTemplate.update("UPDATE notification_unread_counters SET unread_count = " +
+                "(SELECT COUNT(*) FROM notifications WHERE recipient_id = :userId AND is_read = false) " +
+                "WHERE user_id = :userId AND unread_count <> " +
+                "(SELECT COUNT(*) FROM notifications WHERE recipient_id = :userId AND is_read = false)", params) > 0;
+    }
+
+    // 커밋 이후 캐시 제거 (커밋 전에 읽힌 이전 값이 남지 않도록)
+    private void evictAfterCommit(Collection<String> userIds) {
+        Runnable evict = () -> userIds.forEach(cache::remove);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+}
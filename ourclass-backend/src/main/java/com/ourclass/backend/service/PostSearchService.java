@@ -0,0 +1,216 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.entity.Post;
+import com.ourclass.backend.repository.CommentRepository;
+import com.ourclass.backend.repository.PostSearchTermRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 게시글/댓글 검색: 한글은 형태소 분석 없이 2글자(bigram) 단위 역색인으로 부분 일치 검색
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchService {
+
+    // 본문 출현 가중치 (댓글은 1)
+    private static final int POST_WEIGHT = 3;
+    private static final int COMMENT_WEIGHT = 1;
+    // 본문에 검색어가 그대로 포함된 경우 가산점
+    private static final int PHRASE_BONUS = 100;
+    // 검색어에서 사용할 최대 토큰 수
+    private static final int MAX_QUERY_TERMS = 20;
+    // 백필 시 한 번에 처리할 게시글 수
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO post_search_terms (post_id, term, frequency) VALUES (?, ?, ?) " +
+            "ON CONFLICT (post_id, term) DO UPDATE SET frequency = post_search_terms.frequency + EXCLUDED.frequency";
+
+    private final PostSearchTermRepository searchTermRepository;
+    private final CommentRepository commentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    // 게시글 작성/수정 시 본문 + 기존 댓글로 색인 재작성
+    @Transactional
+    public void indexPost(Post post) {
+        searchTermRepository.deleteByPostId(post.getId());
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, post.getContent(), POST_WEIGHT);
+        for (String content : commentRepository.findContentsByPostId(post.getId())) {
+            addTerms(terms, content, COMMENT_WEIGHT);
+        }
+        upsert(post.getId(), terms);
+    }
+
+    // 댓글 작성 시 해당 댓글의 검색어만 누적
+    @Transactional
+    public void indexComment(Long postId, String content) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, content, COMMENT_WEIGHT);
+        upsert(postId, terms);
+    }
+
+    @Transactional
+    public void remove(Long postId) {
+        searchTermRepository.deleteByPostId(postId);
+    }
+
+    /**
+     * 검색어의 모든 토큰을 포함하면서 조회자가 볼 수 있는 게시글 ID를 관련도 순으로 반환.
+     * gradeKeys = "학교|학년", classKeys = "학교|학년|반"
+     */
+    public List<Long> search(String keyword, Collection<String> schoolNames, Collection<String> gradeKeys,
+                             Collection<String> classKeys, int offset, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(keyword));
+        if (terms.isEmpty() || schoolNames.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        String phrase = normalize(keyword).trim()
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("terms", terms)
+                .addValue("termCount", terms.size())
+                .addValue("phrase", "%" + phrase + "%")
+                .addValue("bonus", PHRASE_BONUS)
+                .addValue("schools", schoolNames)
+                // 빈 IN 목록 방지용 빈 문자열
+                .addValue("gradeKeys", gradeKeys.isEmpty() ? List.of("") : gradeKeys)
+                .addValue("classKeys", classKeys.isEmpty() ? List.of("") : classKeys)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        String sql = "SELECT t.post_id FROM post_search_terms t JOIN posts p ON p.id = t.post_id " +
+                "WHERE t.term IN (:terms) AND p.school_name IN (:schools) " +
+                "AND (p.visibility = 'SCHOOL' OR p.visibility IS NULL " +
+                "OR (p.visibility = 'GRADE' AND CONCAT(p.school_name, '|', p.target_grade) IN (:gradeKeys)) " +
+                "OR (p.visibility = 'CLASS' AND CONCAT(p.school_name, '|', p.target_grade, '|', p.target_class_number) IN (:classKeys))) " +
+                "GROUP BY t.post_id, p.content, p.created_at " +
+                "HAVING COUNT(*) = :termCount " +
+                "ORDER BY SUM(t.frequency) + CASE WHEN LOWER(p.content) LIKE :phrase THEN :bonus ELSE 0 END DESC, " +
+                "p.created_at DESC, t.post_id DESC " +
+                "LIMIT :limit OFFSET :offset";
+        return namedJdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
+    // posts/comments 테이블 기준으로 색인 전체 재구축 (백필/복구용)
+    @Transactional
+    public int rebuild() {
+        searchTermRepository.deleteAllRows();
+        int indexed = 0;
+        long lastId = 0L;
+        while (true) {
+            List<Map<String, Object>> posts = jdbcTemplate.queryForList(
+                    "SELECT id, content FROM posts WHERE id > ? ORDER BY id LIMIT ?", lastId, REBUILD_BATCH_SIZE);
+            if (posts.isEmpty()) {
+                break;
+            }
+            Map<Long, Map<String, Integer>> termsByPost = new HashMap<>();
+            for (Map<String, Object> row : posts) {
+                Long postId = ((Number) row.get("id")).longValue();
+                Map<String, Integer> terms = new HashMap<>();
+                addTerms(terms, (String) row.get("content"), POST_WEIGHT);
+                termsByPost.put(postId, terms);
+                lastId = postId;
+            }
+            Long firstId = ((Number) posts.get(0).get("id")).longValue();
+            jdbcTemplate.query("SELECT post_id, content FROM comments WHERE post_id BETWEEN ? AND ?", rs -> {
+                Map<String, Integer> terms = termsByPost.get(rs.getLong("post_id"));
+                if (terms != null) {
+                    addTerms(terms, rs.getString("content"), COMMENT_WEIGHT);
+                }
+            }, firstId, lastId);
+            for (Map.Entry<Long, Map<String, Integer>> entry : termsByPost.entrySet()) {
+                upsert(entry.getKey(), entry.getValue());
+            }
+            indexed += posts.size();
+        }
+        log.info("게시글 검색 색인 재구축 완료: {}건", indexed);
+        return indexed;
+    }
+
+    // 최초 기동 시 색인이 비어 있으면 백필
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (searchTermRepository.count() == 0) {
+            Integer posts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Integer.class);
+            if (posts != null && posts > 0) {
+                log.info("게시글 검색 색인 백필 시작");
+                rebuild();
+            }
+        }
+    }
+
+    private void upsert(Long postId, Map<String, Integer> terms) {
+        if (terms.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(terms.size());
+        for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+            batch.add(new Object[]{postId, entry.getKey(), entry.getValue()});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    private void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenizeAll(text)) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    // 검색어 토큰 (중복 제거, 입력 순서 유지)
+    static Set<String> tokenize(String text) {
+        return new LinkedHashSet<>(tokenizeAll(text));
+    }
+
+    // 글자/숫자가 아닌 문자로 단어를 나누고, 한 글자 단어는 그대로, 그 외는 2글자씩 겹쳐서 분해
+    // 예) "동창회 모임" -> 동창, 창회, 모임
+    static List<String> tokenizeAll(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String word : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            int[] cps = word.codePoints().toArray();
+            if (cps.length == 0) {
+                continue;
+            }
+            if (cps.length == 1) {
+                tokens.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < cps.length; i++) {
+                tokens.add(new String(cps, i, 2));
+            }
+        }
+        return tokens;
+    }
+
+    // 한글 자모 조합형 입력을 완성형으로 맞추고 영문은 소문자로
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+}
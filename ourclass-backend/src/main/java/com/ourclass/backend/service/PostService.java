@@ -3,27 +3,42 @@ package com.ourclass.backend.service;
 import com.ourclass.backend.dto.*;
 import com.ourclass.backend.entity.Comment;
 import com.ourclass.backend.entity.Post;
-import com.ourclass.backend.entity.PostLike;
+import com.ourclass.backend.entity.PostTimeline;
 import com.ourclass.backend.entity.User;
 import com.ourclass.backend.entity.UserSchool;
 import com.ourclass.backend.repository.CommentRepository;
 import com.ourclass.backend.repository.PostLikeRepository;
 import com.ourclass.backend.repository.PostRepository;
 import com.ourclass.backend.repository.UserRepository;
+import com.ourclass.backend.repository.UserSchoolRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
 
+    // 피드 페이지 크기
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
+    // 첫 페이지 조회용 커서 (모든 게시글보다 이후 시각)
+    private static final LocalDateTime FEED_CURSOR_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    // 최상위 댓글 페이지 최대 크기
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+
     @Autowired
     private PostRepository postRepository;
 
@@ -36,9 +51,27 @@ public class PostService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserSchoolRepository userSchoolRepository;
+
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private PostTimelineService postTimelineService;
+
+    @Autowired
+    private PostViewCountService postViewCountService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private TrendingPostService trendingPostService;
+
     @Transactional
     public PostResponse createPost(String userId, CreatePostRequest request) {
         User author = userRepository.findByUserId(userId)
@@ -91,6 +124,8 @@ public class PostService {
                 .build();
 
         Post savedPost = postRepository.save(post);
+        postTimelineService.append(savedPost);
+        postSearchService.indexPost(savedPost);
         return toPostResponse(savedPost, userId);
     }
 
@@ -101,6 +136,14 @@ public class PostService {
 
     @Transactional(readOnly = true)
     public List<PostResponse> getPosts(String userId, String filter, String reqSchoolName, String reqGraduationYear, String grade, String classNumber) {
+        return getPosts(userId, filter, reqSchoolName, reqGraduationYear, grade, classNumber, null, null, null);
+    }
+
+    // 피드 조회 (커서 페이징): cursorCreatedAt/cursorId = 이전 페이지 마지막 글, 없으면 첫 페이지
+    @Transactional(readOnly = true)
+    public List<PostResponse> getPosts(String userId, String filter, String reqSchoolName, String reqGraduationYear,
+                                       String grade, String classNumber,
+                                       LocalDateTime cursorCreatedAt, Long cursorId, Integer size) {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -115,107 +158,146 @@ public class PostService {
         }
         String schoolName = matchingSchools.get(0).getSchoolName();
 
-        // 1단계: 해당 학교의 전체 게시글 가져오기
-        List<Post> allSchoolPosts = postRepository.findBySchoolName(schoolName);
+        // 커서/크기 없이 호출하면 기존처럼 전체 목록 (페이징을 모르는 클라이언트 호환)
+        boolean fullList = cursorCreatedAt == null && cursorId == null && size == null;
+        int pageSize = fullList ? Integer.MAX_VALUE
+                : (size == null || size <= 0) ? DEFAULT_FEED_SIZE : Math.min(size, MAX_FEED_SIZE);
+        LocalDateTime afterCreatedAt = cursorCreatedAt != null ? cursorCreatedAt : FEED_CURSOR_START;
+        Long afterId = cursorId != null ? cursorId : Long.MAX_VALUE;
 
-        // 2단계: visibility 기반 접근 필터링 (이 사용자가 볼 수 있는 글만)
-        List<Post> accessiblePosts = allSchoolPosts.stream()
-                .filter(post -> canUserAccessPost(post, matchingSchools))
-                .collect(Collectors.toList());
-
-        // 3단계: 탭별 필터링
-        List<Post> filteredPosts;
+        // 탭별 타임라인에서 글 ID 조회 (공개 범위는 작성 시점에 타임라인으로 반영됨)
+        List<PostTimeline> timeline;
         switch (filter) {
-            case "myGrade":
-                filteredPosts = accessiblePosts.stream()
-                        .filter(post -> isPostForGradeTab(post, schoolName, matchingSchools))
-                        .collect(Collectors.toList());
+            case "myGrade": {
+                List<String> grades = distinctGrades(matchingSchools);
+                timeline = grades.isEmpty() ? new ArrayList<>()
+                        : postTimelineService.getGradeTimeline(schoolName, grades, afterCreatedAt, afterId, pageSize);
                 break;
-            case "myClass":
+            }
+            case "myClass": {
                 // grade/classNumber가 지정된 경우 해당 학년+반으로 필터링
                 if (grade != null && !grade.isEmpty() && classNumber != null && !classNumber.isEmpty()) {
-                    final String filterGrade = grade;
-                    final String filterClass = classNumber;
-                    filteredPosts = allSchoolPosts.stream()
-                            .filter(post -> "CLASS".equals(post.getVisibility())
-                                    && filterGrade.equals(post.getTargetGrade())
-                                    && filterClass.equals(post.getTargetClassNumber()))
-                            .collect(Collectors.toList());
+                    timeline = postTimelineService.getClassTimeline(schoolName, grade, classNumber, afterCreatedAt, afterId, pageSize);
                 } else {
-                    filteredPosts = accessiblePosts.stream()
-                            .filter(post -> isPostForClassTab(post, schoolName, matchingSchools))
+                    // 사용자의 학년+반마다 조회 후 최신순으로 병합
+                    timeline = new ArrayList<>();
+                    for (UserSchool s : distinctClasses(matchingSchools)) {
+                        timeline.addAll(postTimelineService.getClassTimeline(schoolName, s.getGrade(), s.getClassNumber(), afterCreatedAt, afterId, pageSize));
+                    }
+                    timeline = timeline.stream()
+                            .sorted(Comparator.comparing(PostTimeline::getCreatedAt).thenComparing(PostTimeline::getPostId).reversed())
+                            .limit(pageSize)
                             .collect(Collectors.toList());
                 }
                 break;
+            }
             case "all":
             default:
                 // "우리 학교" 탭: SCHOOL visibility 글만 표시 (GRADE/CLASS 글은 해당 탭에서만)
-                filteredPosts = accessiblePosts.stream()
-                        .filter(post -> {
-                            String vis = post.getVisibility();
-                            return vis == null || "SCHOOL".equals(vis);
-                        })
-                        .collect(Collectors.toList());
+                timeline = postTimelineService.getSchoolTimeline(schoolName, afterCreatedAt, afterId, pageSize);
                 break;
         }
 
-        return filteredPosts.stream()
-                .map(post -> toPostResponse(post, userId))
-                .collect(Collectors.toList());
+        List<Long> postIds = timeline.stream().map(PostTimeline::getPostId).collect(Collectors.toList());
+        List<Post> posts = loadPostsInOrder(postIds);
+        return toPostResponses(posts, user);
     }
 
-    // 사용자가 이 게시글을 볼 수 있는지 (모든 학년/반 정보로 확인)
-    private boolean canUserAccessPost(Post post, List<UserSchool> userSchools) {
-        String vis = post.getVisibility();
-        if (vis == null || "SCHOOL".equals(vis)) return true;
+    // 게시글/댓글 검색: 사용자 학교 글 중 공개 범위(SCHOOL/GRADE/CLASS)에 해당하는 글만 관련도 순으로
+    @Transactional(readOnly = true)
+    public List<PostResponse> searchPosts(String userId, String keyword, String reqSchoolName, Integer page, Integer size) {
+        User user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if ("GRADE".equals(vis)) {
-            return userSchools.stream().anyMatch(s ->
-                    s.getGrade() != null && s.getGrade().equals(post.getTargetGrade()));
+        if (keyword == null || keyword.trim().isEmpty() || user.getSchools() == null || user.getSchools().isEmpty()) {
+            return new ArrayList<>();
         }
-        if ("CLASS".equals(vis)) {
-            return userSchools.stream().anyMatch(s ->
-                    s.getGrade() != null && s.getGrade().equals(post.getTargetGrade()) &&
-                    s.getClassNumber() != null && s.getClassNumber().equals(post.getTargetClassNumber()));
+
+        Set<String> schoolNames = new LinkedHashSet<>();
+        Set<String> gradeKeys = new LinkedHashSet<>();
+        Set<String> classKeys = new LinkedHashSet<>();
+        for (UserSchool s : user.getSchools()) {
+            if (reqSchoolName != null && !reqSchoolName.isEmpty() && !reqSchoolName.equals(s.getSchoolName())) {
+                continue;
+            }
+            schoolNames.add(s.getSchoolName());
+            if (s.getGrade() != null) {
+                gradeKeys.add(s.getSchoolName() + "|" + s.getGrade());
+                if (s.getClassNumber() != null) {
+                    classKeys.add(s.getSchoolName() + "|" + s.getGrade() + "|" + s.getClassNumber());
+                }
+            }
         }
-        return true;
+
+        int pageSize = (size == null || size <= 0) ? DEFAULT_FEED_SIZE : Math.min(size, MAX_FEED_SIZE);
+        int pageNumber = (page == null || page < 0) ? 0 : page;
+        List<Long> postIds = postSearchService.search(keyword, schoolNames, gradeKeys, classKeys,
+                pageNumber * pageSize, pageSize);
+        return toPostResponses(loadPostsInOrder(postIds), user);
     }
 
-    // "우리 학년" 탭에 표시할 글인지 (GRADE visibility 글만)
-    private boolean isPostForGradeTab(Post post, String schoolName, List<UserSchool> userSchools) {
-        String vis = post.getVisibility();
+    // 학교 인기글: 메모리 랭킹의 상위 글 ID 순서대로 조회 (학교 전체 공개 글만)
+    @Transactional(readOnly = true)
+    public List<PostResponse> getTrendingPosts(String userId, String reqSchoolName, String reqGraduationYear, Integer size) {
+        User user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // GRADE visibility 글만 표시
-        if (!"GRADE".equals(vis)) return false;
+        if (user.getSchools() == null || user.getSchools().isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UserSchool> matchingSchools = findAllMatchingSchools(user, reqSchoolName, reqGraduationYear);
+        if (matchingSchools.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        // 사용자의 학년 중 하나와 일치하면 표시
-        return userSchools.stream().anyMatch(s ->
-                s.getGrade() != null && s.getGrade().equals(post.getTargetGrade()));
+        int pageSize = (size == null || size <= 0) ? DEFAULT_FEED_SIZE : Math.min(size, MAX_FEED_SIZE);
+        List<Long> postIds = trendingPostService.getTrendingPostIds(matchingSchools.get(0).getSchoolName(), pageSize);
+        return toPostResponses(loadPostsInOrder(postIds), user);
     }
 
-    // "우리 반" 탭에 표시할 글인지 (CLASS visibility 글만)
-    private boolean isPostForClassTab(Post post, String schoolName, List<UserSchool> userSchools) {
-        String vis = post.getVisibility();
+    // 사용자의 학년 목록 (중복 제거)
+    private List<String> distinctGrades(List<UserSchool> userSchools) {
+        return userSchools.stream()
+                .map(UserSchool::getGrade)
+                .filter(g -> g != null)
+                .distinct()
+                .collect(Collectors.toList());
+    }
 
-        // CLASS visibility 글만 표시
-        if (!"CLASS".equals(vis)) return false;
+    // 사용자의 학년+반 목록 (중복 제거)
+    private List<UserSchool> distinctClasses(List<UserSchool> userSchools) {
+        Map<String, UserSchool> classes = new LinkedHashMap<>();
+        for (UserSchool s : userSchools) {
+            if (s.getGrade() != null && s.getClassNumber() != null) {
+                classes.putIfAbsent(s.getGrade() + "-" + s.getClassNumber(), s);
+            }
+        }
+        return new ArrayList<>(classes.values());
+    }
 
-        // 사용자의 학년+반 중 하나와 일치하면 표시
-        return userSchools.stream().anyMatch(s ->
-                s.getGrade() != null && s.getGrade().equals(post.getTargetGrade()) &&
-                s.getClassNumber() != null && s.getClassNumber().equals(post.getTargetClassNumber()));
+    // ID 목록 순서대로 게시글 조회
+    private List<Post> loadPostsInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Post> byId = postRepository.findAllWithAuthorByIdIn(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, p -> p));
+        return postIds.stream()
+                .map(byId::get)
+                .filter(p -> p != null)
+                .collect(Collectors.toList());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public PostResponse getPost(Long postId, String userId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
-        // Increase view count
-        post.setViewCount(post.getViewCount() + 1);
-        Post savedPost = postRepository.save(post);
+        // Increase view count (메모리에 누적 후 주기적으로 일괄 반영)
+        postViewCountService.increment(postId);
+        trendingPostService.record(post, TrendingPostService.VIEW_WEIGHT);
 
-        return toPostResponse(savedPost, userId);
+        return toPostResponse(post, userId);
     }
 
     @Transactional
@@ -234,6 +316,8 @@ public class PostService {
         }
 
         Post savedPost = postRepository.save(post);
+        postTimelineService.append(savedPost);
+        postSearchService.indexPost(savedPost);
         return toPostResponse(savedPost, userId);
     }
 
@@ -247,9 +331,12 @@ public class PostService {
             throw new RuntimeException("Not authorized to delete this post");
         }
 
-        // 댓글, 좋아요 먼저 삭제 (외래키 제약조건)
-        commentRepository.deleteAllByPost(post);
-        postLikeRepository.deleteAllByPost(post);
+        // 댓글, 좋아요 먼저 일괄 삭제 (외래키 제약조건)
+        commentRepository.deleteAllByPostId(postId);
+        postLikeRepository.deleteAllByPostId(postId);
+        postTimelineService.remove(postId);
+        postSearchService.remove(postId);
+        trendingPostService.remove(post);
         postRepository.delete(post);
     }
 
@@ -261,23 +348,14 @@ public class PostService {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Check if already liked
-        if (postLikeRepository.existsByPostAndUser(post, user)) {
-            // Unlike
-            PostLike postLike = postLikeRepository.findByPostAndUser(post, user)
-                    .orElseThrow(() -> new RuntimeException("Like not found"));
-            postLikeRepository.delete(postLike);
-            post.setLikeCount(post.getLikeCount() - 1);
-        } else {
-            // Like
-            PostLike postLike = PostLike.builder()
-                    .post(post)
-                    .user(user)
-                    .build();
-            postLikeRepository.save(postLike);
-            post.setLikeCount(post.getLikeCount() + 1);
-
-            // 좋아요 알림 (본인 게시글 제외)
+        // INSERT ON CONFLICT / DELETE 결과로 토글 결정, 좋아요 수는 증감 UPDATE
+        boolean liked = likeService.togglePostLike(postId, user);
+        if (liked) {
+            trendingPostService.record(post, TrendingPostService.LIKE_WEIGHT);
+        }
+
+        // 좋아요 알림 (본인 게시글 제외)
+        if (liked) {
             String postAuthorId = post.getAuthor().getUserId();
             if (!postAuthorId.equals(userId)) {
                 notificationService.createAndSend(
@@ -290,8 +368,6 @@ public class PostService {
                 );
             }
         }
-
-        postRepository.save(post);
     }
 
     @Transactional
@@ -328,8 +404,9 @@ public class PostService {
         Comment savedComment = commentRepository.save(comment);
 
         // Update comment count (모든 댓글 카운트, 대댓글도 포함)
-        post.setCommentCount(post.getCommentCount() + 1);
-        postRepository.save(post);
+        postRepository.addCommentCount(postId, 1);
+        postSearchService.indexComment(postId, savedComment.getContent());
+        trendingPostService.record(post, TrendingPostService.COMMENT_WEIGHT);
 
         // 댓글 알림 (본인 게시글 제외)
         String postAuthorId = post.getAuthor().getUserId();
@@ -349,22 +426,57 @@ public class PostService {
 
     @Transactional(readOnly = true)
     public List<CommentResponse> getComments(Long postId, String userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
+        return getComments(postId, userId, null, null);
+    }
 
-        List<Comment> allComments = commentRepository.findByPostOrderByCreatedAtAsc(post);
+    // 댓글 트리 조회: 최상위 댓글 페이지 / 대댓글 / 멘션을 관계별로 한 번씩 조회 후 메모리에서 조립
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getComments(Long postId, String userId, Long cursorId, Integer size) {
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found");
+        }
 
-        // 최상위 댓글만 필터링 (parentComment가 null인 것)
-        List<Comment> topLevelComments = allComments.stream()
-                .filter(comment -> comment.getParentComment() == null)
-                .collect(Collectors.toList());
+        Pageable page = (size == null || size <= 0) ? Pageable.unpaged() : PageRequest.of(0, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        List<Comment> topLevelComments = commentRepository.findTopLevelWithAuthor(postId, cursorId != null ? cursorId : 0L, page);
+        if (topLevelComments.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Comment> replies = commentRepository.findRepliesWithAuthor(postId);
+
+        // 부모 댓글 ID별 대댓글
+        Map<Long, List<Comment>> repliesByParent = new HashMap<>();
+        for (Comment reply : replies) {
+            repliesByParent.computeIfAbsent(reply.getParentComment().getId(), k -> new ArrayList<>()).add(reply);
+        }
+
+        // 멘션된 사용자
+        List<Long> commentIds = new ArrayList<>();
+        topLevelComments.forEach(c -> commentIds.add(c.getId()));
+        replies.forEach(c -> commentIds.add(c.getId()));
+        Map<Long, List<CommentResponse.MentionedUserInfo>> mentionsByComment = new HashMap<>();
+        for (Object[] row : commentRepository.findMentionsByCommentIds(commentIds)) {
+            mentionsByComment.computeIfAbsent((Long) row[0], k -> new ArrayList<>())
+                    .add(CommentResponse.MentionedUserInfo.builder()
+                            .userId((String) row[1])
+                            .name((String) row[2])
+                            .build());
+        }
 
-        // 각 최상위 댓글을 CommentResponse로 변환 (대댓글 포함)
         return topLevelComments.stream()
-                .map(comment -> toCommentResponse(comment, userId))
+                .map(comment -> toCommentTree(comment, userId, postId, repliesByParent, mentionsByComment))
                 .collect(Collectors.toList());
     }
 
+    private CommentResponse toCommentTree(Comment comment, String currentUserId, Long postId,
+                                          Map<Long, List<Comment>> repliesByParent,
+                                          Map<Long, List<CommentResponse.MentionedUserInfo>> mentionsByComment) {
+        List<CommentResponse> replyResponses = repliesByParent.getOrDefault(comment.getId(), new ArrayList<>()).stream()
+                .map(reply -> toCommentTree(reply, currentUserId, postId, repliesByParent, mentionsByComment))
+                .collect(Collectors.toList());
+        return toCommentResponse(comment, currentUserId, postId, replyResponses,
+                mentionsByComment.getOrDefault(comment.getId(), new ArrayList<>()));
+    }
+
     @Transactional
     public CommentResponse updateComment(Long commentId, String userId, String content) {
         Comment comment = commentRepository.findById(commentId)
@@ -377,6 +489,7 @@ public class PostService {
         comment.setContent(content);
         comment.setUpdatedAt(LocalDateTime.now());
         Comment savedComment = commentRepository.save(comment);
+        postSearchService.indexPost(savedComment.getPost());
         return toCommentResponse(savedComment, userId);
     }
 
@@ -390,24 +503,11 @@ public class PostService {
             throw new RuntimeException("Not authorized to delete this comment");
         }
 
+        // 댓글 + 하위 대댓글 전체를 한 번에 삭제하고 삭제된 수만큼 댓글 수 차감
         Post post = comment.getPost();
-
-        // 삭제할 댓글 개수 계산 (자신 + 모든 대댓글)
-        int deletedCount = 1 + countAllReplies(comment);
-
-        commentRepository.delete(comment); // Cascade로 자동 삭제
-
-        // Update comment count
-        post.setCommentCount(post.getCommentCount() - deletedCount);
-        postRepository.save(post);
-    }
-
-    private int countAllReplies(Comment comment) {
-        int count = 0;
-        for (Comment reply : comment.getReplies()) {
-            count += 1 + countAllReplies(reply);
-        }
-        return count;
+        int deletedCount = commentRepository.deleteSubtree(commentId);
+        postRepository.addCommentCount(post.getId(), -deletedCount);
+        postSearchService.indexPost(post);
     }
 
     @Transactional(readOnly = true)
@@ -433,12 +533,6 @@ public class PostService {
         }
         String schoolName = matchingSchools.get(0).getSchoolName();
 
-        // 전체 게시글을 가져와서 visibility 기반 필터링
-        List<Post> allSchoolPosts = postRepository.findBySchoolName(schoolName);
-        List<Post> accessiblePosts = allSchoolPosts.stream()
-                .filter(post -> canUserAccessPost(post, matchingSchools))
-                .collect(Collectors.toList());
-
         // 탭별 새 글 수 계산 (lastSeen 기준, 없으면 최근 24시간)
         LocalDateTime defaultSince = LocalDateTime.now().minusHours(24);
 
@@ -452,25 +546,16 @@ public class PostService {
                 ? LocalDateTime.ofInstant(java.time.Instant.ofEpochMilli(lastSeenMyClass), java.time.ZoneId.systemDefault())
                 : defaultSince;
 
-        long allCount = accessiblePosts.stream()
-                .filter(p -> p.getCreatedAt() != null && p.getCreatedAt().isAfter(sinceAll))
-                .filter(p -> {
-                    String vis = p.getVisibility();
-                    return vis == null || "SCHOOL".equals(vis);
-                })
-                .count();
-        counts.put("all", allCount);
-
-        long gradeCount = accessiblePosts.stream()
-                .filter(p -> p.getCreatedAt() != null && p.getCreatedAt().isAfter(sinceGrade))
-                .filter(p -> isPostForGradeTab(p, schoolName, matchingSchools))
-                .count();
-        counts.put("myGrade", gradeCount);
-
-        long classCount = accessiblePosts.stream()
-                .filter(p -> p.getCreatedAt() != null && p.getCreatedAt().isAfter(sinceClass))
-                .filter(p -> isPostForClassTab(p, schoolName, matchingSchools))
-                .count();
+        // 타임라인 인덱스 범위 COUNT (학교 전체 글을 읽지 않음)
+        counts.put("all", postTimelineService.countSchoolSince(schoolName, sinceAll));
+
+        List<String> grades = distinctGrades(matchingSchools);
+        counts.put("myGrade", grades.isEmpty() ? 0L : postTimelineService.countGradeSince(schoolName, grades, sinceGrade));
+
+        long classCount = 0;
+        for (UserSchool s : distinctClasses(matchingSchools)) {
+            classCount += postTimelineService.countClassSince(schoolName, s.getGrade(), s.getClassNumber(), sinceClass);
+        }
         counts.put("myClass", classCount);
 
         return counts;
@@ -518,61 +603,79 @@ public class PostService {
     }
 
     private PostResponse toPostResponse(Post post, String currentUserId) {
-        User author = post.getAuthor();
+        User currentUser = currentUserId != null ? userRepository.findByUserId(currentUserId).orElse(null) : null;
+        return toPostResponses(List.of(post), currentUser).get(0);
+    }
 
-        // 게시글에 저장된 학교 정보 사용 (없으면 작성자 첫 번째 학교)
-        String postSchoolName = post.getSchoolName();
-        String postGraduationYear = post.getGraduationYear();
-        if (postSchoolName == null || postSchoolName.isEmpty()) {
-            UserSchool fallbackSchool = author.getSchools() != null && !author.getSchools().isEmpty()
-                    ? author.getSchools().get(0) : null;
-            postSchoolName = fallbackSchool != null ? fallbackSchool.getSchoolName() : null;
-            postGraduationYear = fallbackSchool != null ? fallbackSchool.getGraduationYear() : null;
+    // 게시글 목록 일괄 변환: 좋아요 여부, 이미지, 작성자 학교(대체값)를 글 단위가 아닌 목록 단위로 한 번씩 조회
+    private List<PostResponse> toPostResponses(List<Post> posts, User currentUser) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<Long> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
 
-        // Check if current user liked this post
-        User currentUser = null;
-        Boolean liked = false;
-        if (currentUserId != null) {
-            currentUser = userRepository.findByUserId(currentUserId).orElse(null);
-            if (currentUser != null) {
-                liked = postLikeRepository.existsByPostAndUser(post, currentUser);
+        // 현재 사용자가 좋아요한 글 ID (IN 쿼리 1회)
+        Set<Long> likedPostIds = likeService.getLikedPostIds(currentUser, postIds);
+
+        // 이미지 URL (IN 쿼리 1회)
+        Map<Long, List<String>> imageUrlsByPost = new HashMap<>();
+        for (Object[] row : postRepository.findImageUrlsByPostIds(postIds)) {
+            imageUrlsByPost.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        // 학교 정보가 없는 글만 작성자 첫 번째 학교로 대체 (필요할 때만 IN 쿼리 1회)
+        Map<Long, User> fallbackAuthors = new LinkedHashMap<>();
+        for (Post post : posts) {
+            if (post.getSchoolName() == null || post.getSchoolName().isEmpty()) {
+                fallbackAuthors.putIfAbsent(post.getAuthor().getId(), post.getAuthor());
+            }
+        }
+        Map<Long, UserSchool> fallbackSchools = new HashMap<>();
+        if (!fallbackAuthors.isEmpty()) {
+            for (UserSchool school : userSchoolRepository.findByUserInOrderByIdAsc(new ArrayList<>(fallbackAuthors.values()))) {
+                fallbackSchools.putIfAbsent(school.getUser().getId(), school);
             }
         }
 
-        return PostResponse.builder()
-                .id(post.getId())
-                .author(PostResponse.AuthorInfo.builder()
-                        .userId(author.getUserId())
-                        .name(author.getName())
-                        .profileImageUrl(author.getProfileImageUrl())
-                        .schoolName(postSchoolName)
-                        .graduationYear(postGraduationYear)
-                        .build())
-                .content(post.getContent())
-                .imageUrls(post.getImageUrls())
-                .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt())
-                .likeCount(post.getLikeCount())
-                .commentCount(post.getCommentCount())
-                .viewCount(post.getViewCount())
-                .liked(liked)
-                .visibility(post.getVisibility())
-                .targetGrade(post.getTargetGrade())
-                .targetClassNumber(post.getTargetClassNumber())
-                .build();
+        return posts.stream()
+                .map(post -> {
+                    User author = post.getAuthor();
+
+                    // 게시글에 저장된 학교 정보 사용 (없으면 작성자 첫 번째 학교)
+                    String postSchoolName = post.getSchoolName();
+                    String postGraduationYear = post.getGraduationYear();
+                    if (postSchoolName == null || postSchoolName.isEmpty()) {
+                        UserSchool fallbackSchool = fallbackSchools.get(author.getId());
+                        postSchoolName = fallbackSchool != null ? fallbackSchool.getSchoolName() : null;
+                        postGraduationYear = fallbackSchool != null ? fallbackSchool.getGraduationYear() : null;
+                    }
+
+                    return PostResponse.builder()
+                            .id(post.getId())
+                            .author(PostResponse.AuthorInfo.builder()
+                                    .userId(author.getUserId())
+                                    .name(author.getName())
+                                    .profileImageUrl(author.getProfileImageUrl())
+                                    .schoolName(postSchoolName)
+                                    .graduationYear(postGraduationYear)
+                                    .build())
+                            .content(post.getContent())
+                            .imageUrls(imageUrlsByPost.getOrDefault(post.getId(), new ArrayList<>()))
+                            .createdAt(post.getCreatedAt())
+                            .updatedAt(post.getUpdatedAt())
+                            .likeCount(post.getLikeCount())
+                            .commentCount(post.getCommentCount())
+                            .viewCount((int) (post.getViewCount() + postViewCountService.getPendingCount(post.getId())))
+                            .liked(likedPostIds.contains(post.getId()))
+                            .visibility(post.getVisibility())
+                            .targetGrade(post.getTargetGrade())
+                            .targetClassNumber(post.getTargetClassNumber())
+                            .build();
+                })
+                .collect(Collectors.toList());
     }
 
     private CommentResponse toCommentResponse(Comment comment, String currentUserId) {
-        User author = comment.getAuthor();
-
-        Boolean canDelete = false;
-        Boolean canEdit = false;
-        if (currentUserId != null) {
-            canDelete = author.getUserId().equals(currentUserId);
-            canEdit = author.getUserId().equals(currentUserId);
-        }
-
         // 대댓글 리스트 변환 (재귀적으로)
         List<CommentResponse> replyResponses = comment.getReplies().stream()
                 .map(reply -> toCommentResponse(reply, currentUserId))
@@ -586,9 +689,24 @@ public class PostService {
                         .build())
                 .collect(Collectors.toList());
 
+        return toCommentResponse(comment, currentUserId, comment.getPost().getId(), replyResponses, mentionedUserInfos);
+    }
+
+    private CommentResponse toCommentResponse(Comment comment, String currentUserId, Long postId,
+                                              List<CommentResponse> replyResponses,
+                                              List<CommentResponse.MentionedUserInfo> mentionedUserInfos) {
+        User author = comment.getAuthor();
+
+        Boolean canDelete = false;
+        Boolean canEdit = false;
+        if (currentUserId != null) {
+            canDelete = author.getUserId().equals(currentUserId);
+            canEdit = author.getUserId().equals(currentUserId);
+        }
+
         return CommentResponse.builder()
                 .id(comment.getId())
-                .postId(comment.getPost().getId())
+                .postId(postId)
                 .author(CommentResponse.AuthorInfo.builder()
                         .userId(author.getUserId())
                         .name(author.getName())
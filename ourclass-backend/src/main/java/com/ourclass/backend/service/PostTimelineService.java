@@ -0,0 +1,99 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.entity.Post;
+import com.ourclass.backend.entity.PostTimeline;
+import com.ourclass.backend.repository.PostRepository;
+import com.ourclass.backend.repository.PostTimelineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 피드 타임라인 (fan-out-on-write): 글 작성/수정/삭제 시 탭별 타임라인에 반영, 조회는 타임라인 범위 스캔
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostTimelineService {
+
+    private final PostTimelineRepository timelineRepository;
+    private final PostRepository postRepository;
+
+    // 게시글을 해당 탭 타임라인에 추가 (수정 시에도 호출 - 기존 항목 교체)
+    @Transactional
+    public void append(Post post) {
+        timelineRepository.deleteByPostId(post.getId());
+        if (post.getSchoolName() == null || post.getSchoolName().isEmpty()) {
+            return;
+        }
+        timelineRepository.save(toTimeline(post));
+    }
+
+    @Transactional
+    public void remove(Long postId) {
+        timelineRepository.deleteByPostId(postId);
+    }
+
+    public List<PostTimeline> getSchoolTimeline(String schoolName, LocalDateTime cursorCreatedAt, Long cursorId, int size) {
+        return timelineRepository.findSchoolTimeline(schoolName, cursorCreatedAt, cursorId, PageRequest.of(0, size));
+    }
+
+    public List<PostTimeline> getGradeTimeline(String schoolName, List<String> grades, LocalDateTime cursorCreatedAt, Long cursorId, int size) {
+        return timelineRepository.findGradeTimeline(schoolName, grades, cursorCreatedAt, cursorId, PageRequest.of(0, size));
+    }
+
+    public List<PostTimeline> getClassTimeline(String schoolName, String grade, String classNumber, LocalDateTime cursorCreatedAt, Long cursorId, int size) {
+        return timelineRepository.findClassTimeline(schoolName, grade, classNumber, cursorCreatedAt, cursorId, PageRequest.of(0, size));
+    }
+
+    // 탭별 since 이후 새 글 수
+    public long countSchoolSince(String schoolName, LocalDateTime since) {
+        return timelineRepository.countSchoolTimelineSince(schoolName, since);
+    }
+
+    public long countGradeSince(String schoolName, List<String> grades, LocalDateTime since) {
+        return timelineRepository.countGradeTimelineSince(schoolName, grades, since);
+    }
+
+    public long countClassSince(String schoolName, String grade, String classNumber, LocalDateTime since) {
+        return timelineRepository.countClassTimelineSince(schoolName, grade, classNumber, since);
+    }
+
+    // posts 테이블 기준으로 타임라인 재구축 (백필/관리자 복구용)
+    // 전체 삭제 없이 고아 항목 삭제 + UPSERT 라 글 작성과 동시에 실행되거나 여러 인스턴스가 동시에 실행해도 안전
+    @Transactional
+    public int rebuild() {
+        int removed = timelineRepository.deleteOrphans();
+        int upserted = timelineRepository.upsertAllFromPosts();
+        log.info("피드 타임라인 재구축 완료: 추가/갱신 {}건, 삭제 {}건", upserted, removed);
+        return upserted;
+    }
+
+    // 최초 기동 시 타임라인이 비어 있으면 백필
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (timelineRepository.count() == 0 && postRepository.count() > 0) {
+            log.info("피드 타임라인 백필 시작");
+            rebuild();
+        }
+    }
+
+    private PostTimeline toTimeline(Post post) {
+        String vis = post.getVisibility();
+        String tab = "GRADE".equals(vis) ? "myGrade" : "CLASS".equals(vis) ? "myClass" : "all";
+        return PostTimeline.builder()
+                .postId(post.getId())
+                .schoolName(post.getSchoolName())
+                .tab(tab)
+                .grade("all".equals(tab) ? null : post.getTargetGrade())
+                .classNumber("myClass".equals(tab) ? post.getTargetClassNumber() : null)
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ourclass.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 게시글 조회수 쓰기 지연 버퍼: 조회 시 메모리에 누적, 주기적으로 증가분만 일괄 UPDATE
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostViewCountService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // postId -> 아직 DB에 반영되지 않은 조회수 (키 단위 원자적 merge/remove)
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    // 현재 DB에 쓰는 중인 증가분 (반영 완료 전까지 조회 결과에 포함)
+    private final ConcurrentHashMap<Long, Long> flushing = new ConcurrentHashMap<>();
+
+    public void increment(Long postId) {
+        pending.merge(postId, 1L, Long::sum);
+    }
+
+    // DB 값에 더해서 보여줄 미반영 조회수
+    public long getPendingCount(Long postId) {
+        return pending.getOrDefault(postId, 0L) + flushing.getOrDefault(postId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${post.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Long postId : new ArrayList<>(pending.keySet())) {
+            Long delta = pending.remove(postId);
+            if (delta != null && delta > 0) {
+                flushing.put(postId, delta);
+            }
+        }
+        if (flushing.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : flushing.entrySet()) {
+            batch.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE posts SET view_count = view_count + ? WHERE id = ?", batch);
+            log.debug("조회수 반영: {}건", batch.size());
+        } catch (Exception e) {
+            // 실패한 증가분은 다음 주기에 다시 시도
+            log.warn("조회수 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+            flushing.forEach((postId, delta) -> pending.merge(postId, delta, Long::sum));
+        } finally {
+            flushing.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,43 @@
+package com.ourclass.backend.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 그룹 채팅방 멤버들의 읽음 워터마크(lastReadMessageId) 정렬 배열.
+ * 한 번 읽어 정렬해 두고, 메시지마다 "안 읽은 멤버 수"를 이진 탐색으로 계산한다.
+ */
+final class ReadWatermarks {
+
+    private final long[] sorted;
+
+    private ReadWatermarks(long[] sorted) {
+        this.sorted = sorted;
+    }
+
+    // 워터마크가 없는 멤버(null)는 아무것도 읽지 않은 것으로 간주
+    static ReadWatermarks of(Collection<Long> lastReadMessageIds) {
+        long[] values = new long[lastReadMessageIds.size()];
+        int i = 0;
+        for (Long id : lastReadMessageIds) {
+            values[i++] = id != null ? id : 0L;
+        }
+        Arrays.sort(values);
+        return new ReadWatermarks(values);
+    }
+
+    // 워터마크가 messageId보다 작은 멤버 수 (= 첫 번째 >= messageId 위치)
+    int unreadBy(long messageId) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < messageId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
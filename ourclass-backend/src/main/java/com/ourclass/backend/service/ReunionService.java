@@ -7,6 +7,8 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,9 +37,11 @@ public class ReunionService {
     @Autowired private UserRepository userRepository;
     @Autowired private NotificationService notificationService;
     @Autowired private FeeGroupRepository feeGroupRepository;
+    @Autowired private LikeService likeService;
     @PersistenceContext private EntityManager entityManager;
 
     private static final DateTimeFormatter DT_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
 
     // ========== 역할 헬퍼 ==========
     private boolean isLeaderOrAdmin(ReunionMemberRole role) {
@@ -412,16 +416,13 @@ public class ReunionService {
                 .build();
         reunionPostRepository.save(post);
 
-        List<ReunionMember> members = memberRepository.findByReunion(reunion);
-        for (ReunionMember m : members) {
-            if (m.getUser().getUserId().equals(userId)) continue;
-            notificationService.createAndSend(
-                    m.getUser().getUserId(), userId, user.getName(),
-                    "REUNION_POST",
-                    "[" + reunion.getName() + "] " + user.getName() + "님이 새 글을 올렸습니다",
-                    post.getId(), reunion.getId()
-            );
-        }
+        List<String> recipientIds = memberRepository.findUserIdsByReunion(reunion).stream()
+                .filter(memberId -> !memberId.equals(userId))
+                .collect(Collectors.toList());
+        notificationService.createAndSendBulk(recipientIds, userId, user.getName(),
+                "REUNION_POST",
+                "[" + reunion.getName() + "] " + user.getName() + "님이 새 글을 올렸습니다",
+                post.getId(), reunion.getId());
 
         log.info("모임 피드 글 작성: {} in {}", userId, reunion.getName());
         return toReunionPostResponse(post, user);
@@ -436,8 +437,11 @@ public class ReunionService {
         memberRepository.findByReunionAndUser(reunion, user)
                 .orElseThrow(() -> new RuntimeException("모임 멤버가 아닙니다"));
 
-        return reunionPostRepository.findByReunionOrderByCreatedAtDesc(reunion).stream()
-                .map(p -> toReunionPostResponse(p, user))
+        List<ReunionPost> posts = reunionPostRepository.findByReunionOrderByCreatedAtDesc(reunion);
+        java.util.Set<Long> likedPostIds = likeService.getLikedReunionPostIds(user,
+                posts.stream().map(ReunionPost::getId).collect(Collectors.toList()));
+        return posts.stream()
+                .map(p -> toReunionPostResponse(p, likedPostIds.contains(p.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -478,20 +482,13 @@ public class ReunionService {
 
     @Transactional
     public void togglePostLike(Long postId, String userId) {
-        ReunionPost post = reunionPostRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
+        if (!reunionPostRepository.existsById(postId)) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다");
+        }
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
 
-        var existing = reunionPostLikeRepository.findByReunionPostAndUser(post, user);
-        if (existing.isPresent()) {
-            reunionPostLikeRepository.delete(existing.get());
-        } else {
-            reunionPostLikeRepository.save(ReunionPostLike.builder()
-                    .reunionPost(post)
-                    .user(user)
-                    .build());
-        }
+        likeService.toggleReunionPostLike(postId, user);
     }
 
     // ========== 댓글 ==========
@@ -520,13 +517,38 @@ public class ReunionService {
     }
 
     public List<ReunionCommentResponse> getComments(Long postId, String userId) {
-        ReunionPost post = reunionPostRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
+        return getComments(postId, userId, null, null);
+    }
 
-        return reunionPostCommentRepository.findByReunionPostAndParentCommentIsNullOrderByCreatedAtAsc(post)
-                .stream()
-                .map(c -> toCommentResponse(c, userId))
+    // 댓글 트리 조회: 최상위 댓글 페이지 / 대댓글을 한 번씩 조회 후 메모리에서 조립
+    @Transactional(readOnly = true)
+    public List<ReunionCommentResponse> getComments(Long postId, String userId, Long cursorId, Integer size) {
+        if (!reunionPostRepository.existsById(postId)) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다");
+        }
+
+        Pageable page = (size == null || size <= 0) ? Pageable.unpaged() : PageRequest.of(0, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        List<ReunionPostComment> topLevel = reunionPostCommentRepository.findTopLevelWithAuthor(postId, cursorId != null ? cursorId : 0L, page);
+        if (topLevel.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, List<ReunionPostComment>> repliesByParent = new java.util.HashMap<>();
+        for (ReunionPostComment reply : reunionPostCommentRepository.findRepliesWithAuthor(postId)) {
+            repliesByParent.computeIfAbsent(reply.getParentComment().getId(), k -> new ArrayList<>()).add(reply);
+        }
+
+        return topLevel.stream()
+                .map(c -> toCommentTree(c, userId, postId, repliesByParent))
+                .collect(Collectors.toList());
+    }
+
+    private ReunionCommentResponse toCommentTree(ReunionPostComment comment, String currentUserId, Long postId,
+                                                 Map<Long, List<ReunionPostComment>> repliesByParent) {
+        List<ReunionCommentResponse> replies = repliesByParent.getOrDefault(comment.getId(), new ArrayList<>()).stream()
+                .map(r -> toCommentTree(r, currentUserId, postId, repliesByParent))
                 .collect(Collectors.toList());
+        return toCommentResponse(comment, currentUserId, postId, replies);
     }
 
     @Transactional
@@ -631,16 +653,13 @@ public class ReunionService {
         }
 
         // 모든 멤버에게 알림
-        List<ReunionMember> members = memberRepository.findByReunion(reunion);
-        for (ReunionMember m : members) {
-            if (m.getUser().getUserId().equals(creatorUserId)) continue;
-            notificationService.createAndSend(
-                    m.getUser().getUserId(), creatorUserId, creator.getName(),
-                    "MEETING_CREATED",
-                    "[" + reunion.getName() + "] 새 모임: " + meeting.getTitle(),
-                    meeting.getId(), reunion.getId()
-            );
-        }
+        List<String> recipientIds = memberRepository.findUserIdsByReunion(reunion).stream()
+                .filter(memberId -> !memberId.equals(creatorUserId))
+                .collect(Collectors.toList());
+        notificationService.createAndSendBulk(recipientIds, creatorUserId, creator.getName(),
+                "MEETING_CREATED",
+                "[" + reunion.getName() + "] 새 모임: " + meeting.getTitle(),
+                meeting.getId(), reunion.getId());
 
         log.info("모임 개설: {} in {}", meeting.getTitle(), reunion.getName());
         return toMeetingResponse(meeting, creatorUserId);
@@ -718,16 +737,13 @@ public class ReunionService {
         meetingRepository.save(meeting);
 
         // 모든 멤버에게 알림
-        List<ReunionMember> members = memberRepository.findByReunion(meeting.getReunion());
-        for (ReunionMember m : members) {
-            if (m.getUser().getUserId().equals(adminUserId)) continue;
-            notificationService.createAndSend(
-                    m.getUser().getUserId(), adminUserId, admin.getName(),
-                    "MEETING_CONFIRMED",
-                    "[" + meeting.getReunion().getName() + "] 모임 확정: " + finalDate + " " + finalLocation,
-                    meeting.getId(), meeting.getReunion().getId()
-            );
-        }
+        List<String> recipientIds = memberRepository.findUserIdsByReunion(meeting.getReunion()).stream()
+                .filter(memberId -> !memberId.equals(adminUserId))
+                .collect(Collectors.toList());
+        notificationService.createAndSendBulk(recipientIds, adminUserId, admin.getName(),
+                "MEETING_CONFIRMED",
+                "[" + meeting.getReunion().getName() + "] 모임 확정: " + finalDate + " " + finalLocation,
+                meeting.getId(), meeting.getReunion().getId());
 
         log.info("모임 확정: {} - {} {}", meeting.getTitle(), finalDate, finalLocation);
     }
@@ -748,16 +764,13 @@ public class ReunionService {
         meeting.setStatus(MeetingStatus.CANCELLED);
         meetingRepository.save(meeting);
 
-        List<ReunionMember> members = memberRepository.findByReunion(meeting.getReunion());
-        for (ReunionMember m : members) {
-            if (m.getUser().getUserId().equals(adminUserId)) continue;
-            notificationService.createAndSend(
-                    m.getUser().getUserId(), adminUserId, admin.getName(),
-                    "MEETING_CANCELLED",
-                    "[" + meeting.getReunion().getName() + "] 모임 취소: " + meeting.getTitle(),
-                    meeting.getId(), meeting.getReunion().getId()
-            );
-        }
+        List<String> recipientIds = memberRepository.findUserIdsByReunion(meeting.getReunion()).stream()
+                .filter(memberId -> !memberId.equals(adminUserId))
+                .collect(Collectors.toList());
+        notificationService.createAndSendBulk(recipientIds, adminUserId, admin.getName(),
+                "MEETING_CANCELLED",
+                "[" + meeting.getReunion().getName() + "] 모임 취소: " + meeting.getTitle(),
+                meeting.getId(), meeting.getReunion().getId());
     }
 
     // ========== 회비 ==========
@@ -993,9 +1006,11 @@ public class ReunionService {
     }
 
     private ReunionPostResponse toReunionPostResponse(ReunionPost post, User currentUser) {
-        long likeCount = reunionPostLikeRepository.countByReunionPost(post);
+        return toReunionPostResponse(post, reunionPostLikeRepository.existsByReunionPostAndUser(post, currentUser));
+    }
+
+    private ReunionPostResponse toReunionPostResponse(ReunionPost post, boolean liked) {
         long commentCount = reunionPostCommentRepository.countByReunionPost(post);
-        boolean liked = reunionPostLikeRepository.existsByReunionPostAndUser(post, currentUser);
 
         return ReunionPostResponse.builder()
                 .id(post.getId())
@@ -1006,7 +1021,7 @@ public class ReunionService {
                 .content(post.getContent())
                 .imageUrls(post.getImageUrls())
                 .createdAt(post.getCreatedAt() != null ? post.getCreatedAt().format(DT_FMT) : null)
-                .likeCount(likeCount)
+                .likeCount(post.getLikeCount())
                 .commentCount(commentCount)
                 .viewCount(post.getViewCount())
                 .liked(liked)
@@ -1014,16 +1029,21 @@ public class ReunionService {
     }
 
     private ReunionCommentResponse toCommentResponse(ReunionPostComment comment, String currentUserId) {
-        boolean isAuthor = comment.getAuthor().getUserId().equals(currentUserId);
         List<ReunionCommentResponse> replies = comment.getReplies() != null
                 ? comment.getReplies().stream()
                     .map(r -> toCommentResponse(r, currentUserId))
                     .collect(Collectors.toList())
                 : new ArrayList<>();
+        return toCommentResponse(comment, currentUserId, comment.getReunionPost().getId(), replies);
+    }
+
+    private ReunionCommentResponse toCommentResponse(ReunionPostComment comment, String currentUserId, Long postId,
+                                                     List<ReunionCommentResponse> replies) {
+        boolean isAuthor = comment.getAuthor().getUserId().equals(currentUserId);
 
         return ReunionCommentResponse.builder()
                 .id(comment.getId())
-                .postId(comment.getReunionPost().getId())
+                .postId(postId)
                 .authorUserId(comment.getAuthor().getUserId())
                 .authorName(comment.getAuthor().getName())
                 .authorProfileImageUrl(comment.getAuthor().getProfileImageUrl())
@@ -0,0 +1,231 @@
+package com.ourclass.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 채팅방별 최근 메시지 캐시 (방마다 최근 N개 링 버퍼, 방 단위 LRU, 전체 메모리 상한).
+ * DB에서 최신 페이지를 읽어 채우고(seed), 전송 커밋 후 뒤에 추가(append), 삭제/리액션 변경 시 무효화.
+ * seed 도중 같은 방에 쓰기가 있으면 버전이 바뀌어 읽은 결과를 버린다.
+ * append 는 방 순번(seq)이 마지막 메시지 바로 다음일 때만 반영하고, 빈 번호가 있으면(커밋 후 처리 순서가 뒤바뀌었거나
+ * 다른 인스턴스의 이벤트를 놓친 경우) 버퍼를 버린다. 채운 지 maxAgeMs 가 지난 방은 다시 채운다.
+ */
+public class RoomMessageCache<T> {
+
+    private final String name;
+    private final int roomCapacity;
+    private final long maxBytes;
+    private final int maxRooms;
+    private final long maxAgeMs;
+    private final ToLongFunction<T> idOf;
+    private final ToLongFunction<T> seqOf;
+    private final ToIntFunction<T> sizeOf;
+
+    // roomId -> 버퍼 (접근 순서 = LRU)
+    private final LinkedHashMap<Long, Room<T>> rooms = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static class Room<T> {
+        long version;
+        // null 이면 아직 채워지지 않음 (버전만 추적)
+        ArrayDeque<T> messages;
+        // 버퍼가 방의 전체 기록을 담고 있음 (seed 결과가 용량보다 적었고 이후 밀려난 메시지 없음)
+        boolean wholeHistory;
+        long bytes;
+        // 마지막으로 DB에서 채운 시각
+        long loadedAt;
+    }
+
+    // seqOf 는 순번이 없으면 음수 반환
+    public RoomMessageCache(String name, int roomCapacity, long maxBytes, int maxRooms, long maxAgeMs,
+                            ToLongFunction<T> idOf, ToLongFunction<T> seqOf, ToIntFunction<T> sizeOf) {
+        this.name = name;
+        this.roomCapacity = roomCapacity;
+        this.maxBytes = maxBytes;
+        this.maxRooms = maxRooms;
+        this.maxAgeMs = maxAgeMs;
+        this.idOf = idOf;
+        this.seqOf = seqOf;
+        this.sizeOf = sizeOf;
+    }
+
+    public int getRoomCapacity() {
+        return roomCapacity;
+    }
+
+    // 최신 limit개 (오래된 순), 캐시에 없으면 null
+    public synchronized List<T> latest(Long roomId, int limit) {
+        Room<T> room = usable(roomId);
+        if (room == null || (room.messages.size() < limit && !room.wholeHistory)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        List<T> all = new ArrayList<>(room.messages);
+        return new ArrayList<>(all.subList(Math.max(0, all.size() - limit), all.size()));
+    }
+
+    // afterId 이후 limit개 (오래된 순), 버퍼 범위를 벗어나면 null
+    public synchronized List<T> after(Long roomId, long afterId, int limit) {
+        Room<T> room = usable(roomId);
+        if (room == null
+                || (!room.wholeHistory && (room.messages.isEmpty() || afterId < idOf.applyAsLong(room.messages.peekFirst())))) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        List<T> result = new ArrayList<>();
+        for (T message : room.messages) {
+            if (idOf.applyAsLong(message) > afterId) {
+                result.add(message);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // DB 조회 시작 전에 호출, 반환된 버전을 seed 에 전달
+    public synchronized long beginLoad(Long roomId) {
+        Room<T> room = rooms.computeIfAbsent(roomId, k -> new Room<>());
+        evictIfNeeded(roomId);
+        return room.version;
+    }
+
+    // DB에서 읽은 최신 페이지로 버퍼 채우기 (그 사이 쓰기가 있었으면 무시)
+    public synchronized void seed(Long roomId, long version, List<T> latestAscending, boolean wholeHistory) {
+        Room<T> room = rooms.get(roomId);
+        if (room == null || room.version != version) {
+            return;
+        }
+        clear(room);
+        room.messages = new ArrayDeque<>(roomCapacity);
+        int from = Math.max(0, latestAscending.size() - roomCapacity);
+        for (T message : latestAscending.subList(from, latestAscending.size())) {
+            room.messages.addLast(message);
+            room.bytes += sizeOf.applyAsInt(message);
+        }
+        room.wholeHistory = wholeHistory && from == 0;
+        room.loadedAt = System.currentTimeMillis();
+        totalBytes += room.bytes;
+        evictIfNeeded(roomId);
+    }
+
+    // 새 메시지 추가 (커밋 이후), 채워지지 않은 방은 버전만 올림
+    public synchronized void append(Long roomId, T message) {
+        Room<T> room = rooms.get(roomId);
+        if (room == null) {
+            return;
+        }
+        room.version++;
+        if (room.messages == null) {
+            return;
+        }
+        // 바로 다음 순번이 아니면 (빈 방이라 앞 순번을 모르는 경우 포함) 다시 채우도록 무효화
+        long seq = seqOf.applyAsLong(message);
+        if (room.messages.isEmpty() || seq < 0 || seqOf.applyAsLong(room.messages.peekLast()) + 1 != seq) {
+            clear(room);
+            return;
+        }
+        room.messages.addLast(message);
+        int size = sizeOf.applyAsInt(message);
+        room.bytes += size;
+        totalBytes += size;
+        while (room.messages.size() > roomCapacity) {
+            int removed = sizeOf.applyAsInt(room.messages.pollFirst());
+            room.bytes -= removed;
+            totalBytes -= removed;
+            room.wholeHistory = false;
+        }
+        evictIfNeeded(roomId);
+    }
+
+    public synchronized void invalidate(Long roomId) {
+        Room<T> room = rooms.get(roomId);
+        if (room != null) {
+            room.version++;
+            clear(room);
+        }
+    }
+
+    // 전체 무효화 (다른 인스턴스 이벤트를 놓쳤을 수 있을 때)
+    public synchronized void invalidateAll() {
+        for (Room<T> room : rooms.values()) {
+            room.version++;
+            clear(room);
+        }
+    }
+
+    // 메시지 ID만 알 때: 해당 ID를 담고 있을 수 있는 방 버퍼 무효화
+    public synchronized void invalidateMessage(long messageId) {
+        for (Room<T> room : rooms.values()) {
+            if (room.messages != null && !room.messages.isEmpty()
+                    && idOf.applyAsLong(room.messages.peekFirst()) <= messageId
+                    && messageId <= idOf.applyAsLong(room.messages.peekLast())) {
+                room.version++;
+                clear(room);
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("rooms", rooms.size());
+        stats.put("estimatedBytes", totalBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    // 채워져 있고 만료되지 않은 방 (만료됐으면 비움)
+    private Room<T> usable(Long roomId) {
+        Room<T> room = rooms.get(roomId);
+        if (room == null || room.messages == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - room.loadedAt > maxAgeMs) {
+            clear(room);
+            return null;
+        }
+        return room;
+    }
+
+    private void clear(Room<T> room) {
+        totalBytes -= room.bytes;
+        room.bytes = 0;
+        room.messages = null;
+        room.wholeHistory = false;
+    }
+
+    // 메모리 상한/방 수 상한을 넘으면 가장 오래 쓰지 않은 방부터 제거 (방금 쓴 방 제외)
+    private void evictIfNeeded(Long currentRoomId) {
+        Iterator<Map.Entry<Long, Room<T>>> it = rooms.entrySet().iterator();
+        while ((totalBytes > maxBytes || rooms.size() > maxRooms) && it.hasNext()) {
+            Map.Entry<Long, Room<T>> eldest = it.next();
+            if (eldest.getKey().equals(currentRoomId)) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().bytes;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
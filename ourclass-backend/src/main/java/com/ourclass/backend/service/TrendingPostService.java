@@ -0,0 +1,280 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.entity.Post;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 학교별 인기글 랭킹 (메모리): 좋아요/댓글/조회 이벤트를 시간 감쇠 점수로 누적하고 상위 K개를 유지.
+ * 점수는 학교별 기준 시각(epoch)으로 환산해 저장하므로 시간이 흘러도 순위가 바뀌지 않아
+ * 이벤트가 들어온 글만 상위 K 집합에서 갱신하면 된다.
+ */
+@Service
+@Slf4j
+public class TrendingPostService {
+
+    public static final double VIEW_WEIGHT = 1.0;
+    public static final double LIKE_WEIGHT = 3.0;
+    public static final double COMMENT_WEIGHT = 5.0;
+
+    // 학교별 상위 K
+    private static final int TOP_K = 50;
+    // 학교별 후보 최대 수 (초과 시 하위 점수부터 정리)
+    private static final int MAX_CANDIDATES = 2000;
+    // 감쇠 후 이 값보다 작아진 후보는 정리
+    private static final double MIN_SCORE = 0.05;
+    // 기준 시각 재설정 주기 (반감기 배수, double 범위 초과 방지)
+    private static final double REBASE_HALF_LIVES = 40;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // 초당 감쇠율 λ = ln2 / 반감기
+    private final double decayPerSecond;
+
+    private final ConcurrentHashMap<String, SchoolBoard> boards = new ConcurrentHashMap<>();
+    // 복원 전 랭킹은 아직 비어 있으므로 복원 후에만 저장
+    private volatile boolean restored = false;
+
+    public TrendingPostService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               @Value("${post.trending.half-life-hours:6}") double halfLifeHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.decayPerSecond = Math.log(2) / (halfLifeHours * 3600);
+    }
+
+    // 이벤트 반영: 학교 전체 공개 글만 인기글 대상 (트랜잭션 안이면 커밋 이후, 롤백되면 반영하지 않음)
+    public void record(Post post, double weight) {
+        if (post.getSchoolName() == null || post.getSchoolName().isEmpty()) {
+            return;
+        }
+        if (post.getVisibility() != null && !"SCHOOL".equals(post.getVisibility())) {
+            return;
+        }
+        String schoolName = post.getSchoolName();
+        Long postId = post.getId();
+        afterCommit(() -> boards.computeIfAbsent(schoolName, k -> new SchoolBoard(nowSeconds()))
+                .add(postId, weight, nowSeconds()));
+    }
+
+    public void remove(Post post) {
+        if (post.getSchoolName() == null) {
+            return;
+        }
+        String schoolName = post.getSchoolName();
+        Long postId = post.getId();
+        afterCommit(() -> {
+            SchoolBoard board = boards.get(schoolName);
+            if (board != null) {
+                board.remove(postId);
+            }
+        });
+    }
+
+    // 상위 size개 글 ID (점수 내림차순)
+    public List<Long> getTrendingPostIds(String schoolName, int size) {
+        SchoolBoard board = boards.get(schoolName);
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        return board.top(Math.min(size, TOP_K));
+    }
+
+    // 감쇠로 작아진 후보 정리 + 기준 시각 재설정
+    @Scheduled(fixedDelayString = "${post.trending.prune-interval-ms:600000}")
+    public void prune() {
+        double now = nowSeconds();
+        for (SchoolBoard board : boards.values()) {
+            board.prune(now);
+        }
+    }
+
+    // 학교별 상위 후보를 스냅샷 테이블에 병합 저장
+    // 인스턴스마다 자기가 받은 이벤트만으로 만든 부분 랭킹이므로 전체를 지우고 덮어쓰지 않고,
+    // 글마다 저장된 점수를 같은 시각으로 감쇠 환산해 더 큰 쪽을 남김 (감쇠로 작아진 행만 정리)
+    @Scheduled(fixedDelayString = "${post.trending.snapshot-interval-ms:60000}")
+    public synchronized void snapshot() {
+        if (!restored) {
+            return;
+        }
+        double now = nowSeconds();
+        Timestamp snapshotAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<String, SchoolBoard> entry : boards.entrySet()) {
+            for (Map.Entry<Long, Double> score : entry.getValue().currentScores(now).entrySet()) {
+                batch.add(new Object[]{score.getKey(), entry.getKey(), score.getValue(), snapshotAt, decayPerSecond});
+            }
+        }
+        // 인스턴스끼리 같은 행을 동시에 갱신해도 잠금 순서가 같도록 글 ID 순으로 저장
+        batch.sort(Comparator.comparingLong(row -> (Long) row[0]));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!batch.isEmpty()) {
+                    // 지수는 [-700, 0] 으로 자름 (인스턴스 간 시계 차이, PostgreSQL exp 언더플로 오류 방지)
+                    jdbcTemplate.batchUpdate("INSERT INTO post_trending_snapshots (post_id, school_name, score, snapshot_at) " +
+                            "VALUES (?, ?, ?, ?) ON CONFLICT (post_id) DO UPDATE SET " +
+                            "score = GREATEST(EXCLUDED.score, post_trending_snapshots.score * EXP(GREATEST(LEAST(" +
+                            "-CAST(? AS double precision) * EXTRACT(EPOCH FROM (EXCLUDED.snapshot_at - post_trending_snapshots.snapshot_at)), 0), -700))), " +
+                            "school_name = EXCLUDED.school_name, snapshot_at = EXCLUDED.snapshot_at", batch);
+                }
+                jdbcTemplate.update("DELETE FROM post_trending_snapshots WHERE score * EXP(GREATEST(LEAST(" +
+                        "-CAST(? AS double precision) * EXTRACT(EPOCH FROM (CAST(? AS timestamp) - snapshot_at)), 0), -700)) < ?",
+                        decayPerSecond, snapshotAt, MIN_SCORE);
+            });
+            log.debug("인기글 스냅샷 저장: {}건", batch.size());
+        } catch (Exception e) {
+            log.warn("인기글 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // 기동 시 마지막 스냅샷으로 랭킹 복원 (삭제된 글 제외)
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        LocalDateTime nowTime = LocalDateTime.now();
+        double now = nowSeconds();
+        int[] count = {0};
+        jdbcTemplate.query("SELECT s.post_id, s.school_name, s.score, s.snapshot_at FROM post_trending_snapshots s " +
+                "JOIN posts p ON p.id = s.post_id", rs -> {
+            double elapsed = Duration.between(rs.getTimestamp("snapshot_at").toLocalDateTime(), nowTime).toSeconds();
+            double score = rs.getDouble("score") * Math.exp(-decayPerSecond * Math.max(elapsed, 0));
+            boards.computeIfAbsent(rs.getString("school_name"), k -> new SchoolBoard(now))
+                    .add(rs.getLong("post_id"), score, now);
+            count[0]++;
+        });
+        restored = true;
+        log.info("인기글 랭킹 복원: {}건", count[0]);
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    // 트랜잭션이 있으면 커밋 이후, 없으면 즉시 실행
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static double nowSeconds() {
+        return System.currentTimeMillis() / 1000.0;
+    }
+
+    // 학교 단위 랭킹: 점수 = Σ weight * e^(λ(t - epoch)), 비교는 기준 시각 환산값으로
+    private class SchoolBoard {
+
+        private double epoch;
+        private final Map<Long, Double> scores = new HashMap<>();
+        private final TreeSet<Long> topK = new TreeSet<>(
+                Comparator.comparingDouble((Long id) -> scores.get(id)).thenComparingLong(id -> id));
+
+        SchoolBoard(double epoch) {
+            this.epoch = epoch;
+        }
+
+        synchronized void add(Long postId, double weight, double now) {
+            // 비교자가 점수를 읽으므로 점수가 없는 새 글은 topK 조회 전에 걸러야 함
+            boolean inTop = scores.containsKey(postId) && topK.contains(postId);
+            if (inTop) {
+                topK.remove(postId);
+            }
+            scores.merge(postId, weight * Math.exp(decayPerSecond * (now - epoch)), Double::sum);
+            if (inTop || topK.size() < TOP_K) {
+                topK.add(postId);
+            } else if (scores.get(postId) > scores.get(topK.first())) {
+                topK.pollFirst();
+                topK.add(postId);
+            }
+        }
+
+        synchronized void remove(Long postId) {
+            if (!scores.containsKey(postId)) {
+                return;
+            }
+            boolean inTop = topK.remove(postId);
+            scores.remove(postId);
+            if (inTop) {
+                refill();
+            }
+        }
+
+        synchronized List<Long> top(int size) {
+            List<Long> result = new ArrayList<>(size);
+            for (Long postId : topK.descendingSet()) {
+                if (result.size() >= size) {
+                    break;
+                }
+                result.add(postId);
+            }
+            return result;
+        }
+
+        // 현재 시각 기준 감쇠 점수 (스냅샷용)
+        synchronized Map<Long, Double> currentScores(double now) {
+            double factor = Math.exp(-decayPerSecond * (now - epoch));
+            Map<Long, Double> result = new HashMap<>();
+            for (Long postId : topK) {
+                result.put(postId, scores.get(postId) * factor);
+            }
+            return result;
+        }
+
+        synchronized void prune(double now) {
+            double factor = Math.exp(-decayPerSecond * (now - epoch));
+            scores.entrySet().removeIf(e -> !topK.contains(e.getKey()) && e.getValue() * factor < MIN_SCORE);
+            if (scores.size() > MAX_CANDIDATES) {
+                List<Map.Entry<Long, Double>> entries = new ArrayList<>(scores.entrySet());
+                entries.sort(Map.Entry.comparingByValue());
+                for (int i = 0; i < entries.size() - MAX_CANDIDATES; i++) {
+                    Long postId = entries.get(i).getKey();
+                    if (!topK.contains(postId)) {
+                        scores.remove(postId);
+                    }
+                }
+            }
+            // 기준 시각이 오래되면 현재 시각으로 옮기고 점수를 환산 (순위 불변)
+            if (decayPerSecond * (now - epoch) > Math.log(2) * REBASE_HALF_LIVES) {
+                topK.clear();
+                scores.replaceAll((id, s) -> s * factor);
+                epoch = now;
+                refill();
+            }
+        }
+
+        // 후보 중 상위 K개로 topK 재구성
+        private void refill() {
+            topK.clear();
+            scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                    .limit(TOP_K)
+                    .forEach(e -> topK.add(e.getKey()));
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.ourclass.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ourclass.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 채팅 타이핑 상태 (1:1 / 그룹 공용, 메모리).
+ * - 만료: 해시 타이밍 휠 (틱마다 한 칸만 검사, 방이 비면 방 항목도 제거)
+ * - 브로드캐스트: 사용자/방마다 debounce 간격 안에서는 TYPING 이벤트를 한 번만 전송
+ * - 표시 이름: 캐시에서 조회 (타이핑 상태 조회는 DB를 사용하지 않음)
+ * - 다중 인스턴스: 상태 변경을 ClusterEventBus 로 다른 노드에 복제, 만료 브로드캐스트는 마지막으로 갱신한 노드만
+ */
+@Service
+@Slf4j
+public class TypingPresenceService {
+
+    public static final String SCOPE_DM = "DM";
+    public static final String SCOPE_GROUP = "GROUP";
+
+    private static final String CLUSTER_CHANNEL = "chat_typing";
+
+    // 이름 캐시 크기 / 유지 시간
+    private static final int NAME_CACHE_SIZE = 10000;
+    private static final long NAME_CACHE_TTL_MS = 10 * 60 * 1000L;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserRepository userRepository;
+    private final ClusterEventBus clusterEventBus;
+    private final long ttlMs;
+    private final long debounceMs;
+    private final long tickMs;
+
+    // "DM:1" / "GROUP:1" -> { userId -> 타이핑 상태 }
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Typing>> rooms = new ConcurrentHashMap<>();
+
+    // 타이밍 휠: 만료 시각이 속한 칸에 (방, 사용자, 만료 시각) 등록
+    private final List<ConcurrentLinkedQueue<Expiry>> wheel;
+    private long lastTick;
+
+    // userId -> 표시 이름 (접근 순 LRU)
+    private final Map<String, CachedName> nameCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedName> eldest) {
+            return size() > NAME_CACHE_SIZE;
+        }
+    };
+
+    public TypingPresenceService(SimpMessagingTemplate messagingTemplate, UserRepository userRepository,
+                                 ClusterEventBus clusterEventBus,
+                                 @Value("${chat.typing.ttl-ms:5000}") long ttlMs,
+                                 @Value("${chat.typing.debounce-ms:2000}") long debounceMs,
+                                 @Value("${chat.typing.tick-ms:250}") long tickMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRepository = userRepository;
+        this.clusterEventBus = clusterEventBus;
+        this.ttlMs = ttlMs;
+        this.debounceMs = debounceMs;
+        this.tickMs = tickMs;
+        // 휠 한 바퀴가 TTL보다 길도록 칸 수 결정
+        int slots = (int) Math.max(8, ttlMs / tickMs * 2);
+        this.wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+        this.lastTick = System.currentTimeMillis() / tickMs - 1;
+    }
+
+    private static class Typing {
+        final String userName;
+        volatile long expiresAt;
+        volatile long lastBroadcastAt;
+        // 이 노드에서 마지막으로 갱신됨 (만료 시 typing=false 전송 담당)
+        volatile boolean local;
+
+        Typing(String userName) {
+            this.userName = userName;
+        }
+    }
+
+    private record Expiry(String roomKey, String userId, long expiresAt) {
+    }
+
+    private record CachedName(String name, long loadedAt) {
+    }
+
+    @PostConstruct
+    public void subscribeCluster() {
+        clusterEventBus.subscribe(CLUSTER_CHANNEL, this::applyRemote);
+    }
+
+    // 타이핑 시작/중지 반영 후 필요 시 브로드캐스트
+    public void update(String scope, Long roomId, String userId, boolean typing) {
+        String roomKey = scope + ":" + roomId;
+        long now = System.currentTimeMillis();
+        if (typing) {
+            Typing state = touch(roomKey, userId, null, now);
+            state.local = true;
+            // 마지막 전송 후 debounce 간격이 지났을 때만 전송 (다른 노드 복제도 같은 주기)
+            if (now - state.lastBroadcastAt >= debounceMs) {
+                state.lastBroadcastAt = now;
+                broadcast(scope, roomId, userId, state.userName, true);
+                replicate(scope, roomId, userId, state.userName, true);
+            }
+        } else {
+            Typing state = clear(roomKey, userId);
+            if (state != null) {
+                broadcast(scope, roomId, userId, state.userName, false);
+                replicate(scope, roomId, userId, state.userName, false);
+            }
+        }
+    }
+
+    // 다른 노드에서 온 상태 변경 (브로드캐스트는 원래 노드가 이미 함)
+    private void applyRemote(JsonNode event) {
+        String roomKey = event.path("scope").asText() + ":" + event.path("roomId").asLong();
+        String userId = event.path("userId").asText();
+        if (event.path("typing").asBoolean()) {
+            Typing state = touch(roomKey, userId, event.path("userName").asText(userId), System.currentTimeMillis());
+            state.local = false;
+            state.lastBroadcastAt = System.currentTimeMillis();
+        } else {
+            clear(roomKey, userId);
+        }
+    }
+
+    private Typing touch(String roomKey, String userId, String knownName, long now) {
+        ConcurrentHashMap<String, Typing> room = rooms.computeIfAbsent(roomKey, k -> new ConcurrentHashMap<>());
+        Typing state = room.computeIfAbsent(userId, k -> new Typing(knownName != null ? knownName : getDisplayName(userId)));
+        state.expiresAt = now + ttlMs;
+        schedule(new Expiry(roomKey, userId, state.expiresAt));
+        return state;
+    }
+
+    private Typing clear(String roomKey, String userId) {
+        ConcurrentHashMap<String, Typing> room = rooms.get(roomKey);
+        Typing state = room != null ? room.remove(userId) : null;
+        rooms.computeIfPresent(roomKey, (k, r) -> r.isEmpty() ? null : r);
+        return state;
+    }
+
+    private void replicate(String scope, Long roomId, String userId, String userName, boolean typing) {
+        if (!clusterEventBus.isEnabled()) {
+            return;
+        }
+        ObjectNode event = clusterEventBus.newEvent();
+        event.put("scope", scope);
+        event.put("roomId", roomId);
+        event.put("userId", userId);
+        event.put("userName", userName);
+        event.put("typing", typing);
+        clusterEventBus.publish(CLUSTER_CHANNEL, event);
+    }
+
+    // 현재 타이핑 중인 사용자 (본인 제외)
+    public List<Map<String, String>> getTypingUsers(String scope, Long roomId, String excludeUserId) {
+        ConcurrentHashMap<String, Typing> room = rooms.get(scope + ":" + roomId);
+        List<Map<String, String>> result = new ArrayList<>();
+        if (room == null) {
+            return result;
+        }
+        long now = System.currentTimeMillis();
+        room.forEach((userId, state) -> {
+            if (!userId.equals(excludeUserId) && state.expiresAt > now) {
+                result.add(Map.of("userId", userId, "userName", state.userName));
+            }
+        });
+        return result;
+    }
+
+    // 휠 한 칸씩 전진하며 만료 항목 제거
+    @Scheduled(fixedRateString = "${chat.typing.tick-ms:250}")
+    public synchronized void tick() {
+        long now = System.currentTimeMillis();
+        // 이미 지나간 틱의 칸만 검사 (밀린 틱이 휠 한 바퀴를 넘으면 한 바퀴만)
+        long upTo = now / tickMs - 1;
+        long from = Math.max(lastTick + 1, upTo - wheel.size() + 1);
+        for (long t = from; t <= upTo; t++) {
+            ConcurrentLinkedQueue<Expiry> slot = wheel.get((int) (t % wheel.size()));
+            int size = slot.size();
+            for (int i = 0; i < size; i++) {
+                Expiry expiry = slot.poll();
+                if (expiry == null) {
+                    break;
+                }
+                if (expiry.expiresAt() > now) {
+                    // 아직 시간이 남은 항목 (다음 바퀴)
+                    slot.add(expiry);
+                    continue;
+                }
+                expire(expiry);
+            }
+        }
+        lastTick = upTo;
+    }
+
+    private void expire(Expiry expiry) {
+        ConcurrentHashMap<String, Typing> room = rooms.get(expiry.roomKey());
+        if (room == null) {
+            return;
+        }
+        Typing state = room.get(expiry.userId());
+        // 갱신된 상태면 이 항목은 무시 (새 만료 항목이 따로 등록됨)
+        if (state == null || state.expiresAt != expiry.expiresAt()) {
+            return;
+        }
+        if (room.remove(expiry.userId(), state)) {
+            rooms.computeIfPresent(expiry.roomKey(), (k, r) -> r.isEmpty() ? null : r);
+            if (state.local) {
+                String[] parts = expiry.roomKey().split(":", 2);
+                broadcast(parts[0], Long.valueOf(parts[1]), expiry.userId(), state.userName, false);
+            }
+        }
+    }
+
+    private void schedule(Expiry expiry) {
+        wheel.get((int) ((expiry.expiresAt() / tickMs) % wheel.size())).add(expiry);
+    }
+
+    private void broadcast(String scope, Long roomId, String userId, String userName, boolean typing) {
+        String destination = SCOPE_GROUP.equals(scope) ? "/topic/group-chat/" + roomId : "/topic/chat/" + roomId;
+        messagingTemplate.convertAndSend(destination,
+                Map.of("type", "TYPING", "userId", userId, "userName", userName, "typing", typing));
+    }
+
+    // 표시 이름 (캐시 미스일 때만 DB 조회)
+    public String getDisplayName(String userId) {
+        long now = System.currentTimeMillis();
+        synchronized (nameCache) {
+            CachedName cached = nameCache.get(userId);
+            if (cached != null && now - cached.loadedAt() < NAME_CACHE_TTL_MS) {
+                return cached.name();
+            }
+        }
+        String name = userRepository.findByUserId(userId).map(u -> u.getName()).orElse(userId);
+        synchronized (nameCache) {
+            nameCache.put(userId, new CachedName(name, now));
+        }
+        return name;
+    }
+
+    // 이름 변경 시 캐시 무효화
+    public void evictDisplayName(String userId) {
+        synchronized (nameCache) {
+            nameCache.remove(userId);
+        }
+    }
+}
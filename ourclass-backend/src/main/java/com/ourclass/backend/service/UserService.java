@@ -26,6 +26,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserSchoolRepository userSchoolRepository;
+    private final TypingPresenceService typingPresenceService;
 
     @Transactional(readOnly = true)
     public ProfileResponse getProfile(String userId) {
@@ -65,6 +66,7 @@ public class UserService {
 
         if (request.getName() != null) {
             user.setName(request.getName());
+            typingPresenceService.evictDisplayName(userId);
         }
         if (request.getProfileImageUrl() != null) {
             user.setProfileImageUrl(request.getProfileImageUrl());
@@ -0,0 +1,155 @@
+package com.ourclass.backend.config;
+
+import com.ourclass.backend.repository.UserRepository;
+import com.ourclass.backend.service.ClusterEventBus;
+import com.ourclass.backend.service.TypingPresenceService;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketMessagingAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// chat.broker.mode=relay: 두 노드가 같은 외부 STOMP 브로커(내장 Artemis)를 통해 타이핑 이벤트를 주고받는지 확인
+class StompBrokerRelayTest {
+
+    private static EmbeddedActiveMQ broker;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    // 웹소켓 + 브로커 설정 + 타이핑 서비스만 올린 노드 (DB/보안 제외)
+    @Configuration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            WebSocketMessagingAutoConfiguration.class
+    })
+    @Import({WebSocketConfig.class, TypingPresenceService.class})
+    static class Node {
+
+        @Bean
+        UserRepository userRepository() {
+            return Mockito.mock(UserRepository.class);
+        }
+
+        @Bean
+        ClusterEventBus clusterEventBus() {
+            return Mockito.mock(ClusterEventBus.class);
+        }
+    }
+
+    @BeforeAll
+    static void startBrokerAndNodes() throws Exception {
+        int stompPort = freePort();
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://localhost:" + stompPort + "?protocols=STOMP"));
+        broker.start();
+
+        nodeA = startNode(stompPort);
+        nodeB = startNode(stompPort);
+    }
+
+    @AfterAll
+    static void stopAll() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void typingOnOneNodeReachesSubscriberOnOtherNode() throws Exception {
+        BlockingQueue<Map<String, Object>> received = new LinkedBlockingQueue<>();
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        int portB = ((ServletWebServerApplicationContext) nodeB).getWebServer().getPort();
+        StompSession session = client.connectAsync("ws://localhost:" + portB + "/ws", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+        session.subscribe("/topic/group-chat/7", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((Map<String, Object>) payload);
+            }
+        });
+
+        // 구독/릴레이 연결이 브로커에 닿을 때까지 A 노드에서 반복 전송 (debounce 0)
+        TypingPresenceService typingA = nodeA.getBean(TypingPresenceService.class);
+        Map<String, Object> event = null;
+        for (int i = 0; i < 50 && event == null; i++) {
+            typingA.update(TypingPresenceService.SCOPE_GROUP, 7L, "alice", true);
+            event = received.poll(200, TimeUnit.MILLISECONDS);
+        }
+        session.disconnect();
+
+        assertThat(event).isNotNull();
+        assertThat(event).containsEntry("type", "TYPING")
+                .containsEntry("userId", "alice")
+                .containsEntry("typing", true);
+    }
+
+    private static ConfigurableApplicationContext startNode(int stompPort) {
+        // application.yml 보다 우선하도록 명령행 인자로 전달
+        return new SpringApplicationBuilder(Node.class).run(
+                "--server.port=0",
+                "--server.address=localhost",
+                "--chat.broker.mode=relay",
+                "--chat.broker.relay.host=localhost",
+                "--chat.broker.relay.port=" + stompPort,
+                "--chat.typing.debounce-ms=0");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
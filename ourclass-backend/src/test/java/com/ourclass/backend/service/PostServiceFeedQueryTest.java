@@ -0,0 +1,152 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.dto.PostResponse;
+import com.ourclass.backend.entity.Post;
+import com.ourclass.backend.entity.PostLike;
+import com.ourclass.backend.entity.PostTimeline;
+import com.ourclass.backend.entity.User;
+import com.ourclass.backend.entity.UserSchool;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+// 피드 한 페이지 조회의 SQL 실행 수가 글 수와 무관하게 일정한지 확인 (H2, 타임라인은 목 처리)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({PostService.class, LikeService.class})
+class PostServiceFeedQueryTest {
+
+    private static final String SCHOOL = "우리고";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PostTimelineService postTimelineService;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private PostViewCountService postViewCountService;
+
+    @MockBean
+    private PostSearchService postSearchService;
+
+    @MockBean
+    private TrendingPostService trendingPostService;
+
+    @Test
+    void feedPageUsesFixedNumberOfStatements() {
+        assertThat(statementsForFeedPage(3)).isEqualTo(statementsForFeedPage(12));
+    }
+
+    @Test
+    void feedPageStatementCount() {
+        // 사용자 1 + 사용자 학교 1 + 글(작성자 JOIN FETCH) 1 + 좋아요 1 + 이미지 1 + 작성자 학교 대체값 1
+        assertThat(statementsForFeedPage(10)).isEqualTo(6);
+    }
+
+    // 글 postCount개(작성자 여러 명, 이미지 여러 장/좋아요/학교 정보 없는 글 포함)로 피드 첫 페이지를 조회한 SQL 실행 수
+    private long statementsForFeedPage(int postCount) {
+        String suffix = String.valueOf(System.nanoTime());
+        User viewer = persistUser("viewer" + suffix);
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            authors.add(persistUser("author" + i + "_" + suffix));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PostTimeline> timeline = new ArrayList<>();
+        Map<String, List<String>> imagesByContent = new HashMap<>();
+        for (int i = 0; i < postCount; i++) {
+            // 올린 순서가 이름 순서와 다르도록 배치
+            List<String> images = i % 2 == 0
+                    ? List.of("/uploads/" + suffix + "_" + i + "_c.jpg", "/uploads/" + suffix + "_" + i + "_a.jpg",
+                            "/uploads/" + suffix + "_" + i + "_b.jpg")
+                    : List.of("/uploads/" + suffix + "_" + i + ".jpg");
+            imagesByContent.put("글 " + i, images);
+            Post post = Post.builder()
+                    .author(authors.get(i % authors.size()))
+                    .content("글 " + i)
+                    .schoolName(i % 2 == 0 ? SCHOOL : null)
+                    .graduationYear(i % 2 == 0 ? "2010" : null)
+                    .imageUrls(new ArrayList<>(images))
+                    .build();
+            em.persist(post);
+            if (i % 3 == 0) {
+                em.persist(PostLike.builder().post(post).user(viewer).build());
+            }
+            timeline.add(0, PostTimeline.builder()
+                    .postId(post.getId())
+                    .schoolName(SCHOOL)
+                    .tab("all")
+                    .createdAt(now.minusMinutes(postCount - i))
+                    .build());
+        }
+        em.flush();
+        em.clear();
+
+        when(postTimelineService.getSchoolTimeline(eq(SCHOOL), any(), anyLong(), anyInt())).thenReturn(timeline);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<PostResponse> page = postService.getPosts(viewer.getUserId(), "all", null, null,
+                null, null, null, null, postCount);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(page).hasSize(postCount);
+        assertThat(page).allSatisfy(p -> {
+            assertThat(p.getAuthor().getSchoolName()).isEqualTo(SCHOOL);
+            assertThat(p.getImageUrls()).containsExactlyElementsOf(imagesByContent.get(p.getContent()));
+        });
+        assertThat(page.stream().filter(PostResponse::getLiked).count()).isEqualTo((postCount + 2) / 3);
+        em.clear();
+        return statements;
+    }
+
+    private User persistUser(String userId) {
+        User user = User.builder()
+                .userId(userId)
+                .password("password")
+                .name(userId)
+                .email(userId + "@ourclass.test")
+                .build();
+        user.addSchool(UserSchool.builder()
+                .schoolType("고등학교")
+                .schoolName(SCHOOL)
+                .graduationYear("2010")
+                .grade("3")
+                .classNumber("2")
+                .build());
+        return em.persist(user);
+    }
+}
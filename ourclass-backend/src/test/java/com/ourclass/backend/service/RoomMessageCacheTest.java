@@ -0,0 +1,76 @@
+package com.ourclass.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomMessageCacheTest {
+
+    // 메시지 = (id, seq)
+    private record Msg(long id, long seq) {
+    }
+
+    private static RoomMessageCache<Msg> cache(long maxAgeMs) {
+        return new RoomMessageCache<>("TEST", 10, 1_000_000, 100, maxAgeMs, Msg::id, Msg::seq, m -> 100);
+    }
+
+    private static void seed(RoomMessageCache<Msg> cache, Long roomId, List<Msg> messages) {
+        long version = cache.beginLoad(roomId);
+        cache.seed(roomId, version, messages, true);
+    }
+
+    @Test
+    void appendsMessageWithNextSeq() {
+        RoomMessageCache<Msg> cache = cache(60_000);
+        seed(cache, 1L, List.of(new Msg(10, 1), new Msg(11, 2)));
+
+        cache.append(1L, new Msg(12, 3));
+
+        assertThat(cache.latest(1L, 10)).extracting(Msg::id).containsExactly(10L, 11L, 12L);
+    }
+
+    @Test
+    void dropsRoomWhenSeqSkipsAhead() {
+        RoomMessageCache<Msg> cache = cache(60_000);
+        seed(cache, 1L, List.of(new Msg(10, 1), new Msg(11, 2)));
+
+        // seq 3 의 커밋 후 처리가 아직 반영되지 않음
+        cache.append(1L, new Msg(13, 4));
+        cache.append(1L, new Msg(12, 3));
+
+        assertThat(cache.latest(1L, 10)).isNull();
+    }
+
+    @Test
+    void seedDiscardedWhenAppendRacesWithLoad() {
+        RoomMessageCache<Msg> cache = cache(60_000);
+        long version = cache.beginLoad(1L);
+        cache.append(1L, new Msg(12, 3));
+        cache.seed(1L, version, List.of(new Msg(10, 1), new Msg(11, 2)), true);
+
+        assertThat(cache.latest(1L, 10)).isNull();
+    }
+
+    @Test
+    void expiredRoomIsReloaded() throws InterruptedException {
+        RoomMessageCache<Msg> cache = cache(20);
+        seed(cache, 1L, List.of(new Msg(10, 1)));
+        Thread.sleep(50);
+
+        assertThat(cache.latest(1L, 10)).isNull();
+    }
+
+    @Test
+    void invalidateAllDropsEveryRoom() {
+        RoomMessageCache<Msg> cache = cache(60_000);
+        seed(cache, 1L, List.of(new Msg(10, 1)));
+        seed(cache, 2L, List.of(new Msg(20, 1)));
+
+        cache.invalidateAll();
+
+        assertThat(cache.latest(1L, 10)).isNull();
+        assertThat(cache.latest(2L, 10)).isNull();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ourclass.backend.service;
+
+import com.ourclass.backend.entity.Post;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingPostServiceTest {
+
+    // 기록/조회만 검증하므로 스냅샷용 JDBC 는 사용하지 않음
+    private final TrendingPostService service = new TrendingPostService(null, null, 6);
+
+    private static Post post(long id, String schoolName) {
+        return Post.builder().id(id).schoolName(schoolName).visibility("SCHOOL").build();
+    }
+
+    @Test
+    void recordsTwoPostsInSameSchool() {
+        service.record(post(1L, "우리고"), TrendingPostService.VIEW_WEIGHT);
+        service.record(post(2L, "우리고"), TrendingPostService.COMMENT_WEIGHT);
+
+        assertThat(service.getTrendingPostIds("우리고", 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void repeatedEventsReorderExistingPosts() {
+        service.record(post(1L, "우리고"), TrendingPostService.LIKE_WEIGHT);
+        service.record(post(2L, "우리고"), TrendingPostService.COMMENT_WEIGHT);
+        service.record(post(1L, "우리고"), TrendingPostService.LIKE_WEIGHT);
+
+        assertThat(service.getTrendingPostIds("우리고", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ignoresPostsNotVisibleToWholeSchool() {
+        service.record(Post.builder().id(3L).schoolName("우리고").visibility("CLASS").build(), TrendingPostService.LIKE_WEIGHT);
+
+        assertThat(service.getTrendingPostIds("우리고", 10)).isEmpty();
+    }
+}